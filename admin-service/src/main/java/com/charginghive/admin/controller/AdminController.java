@@ -1,12 +1,17 @@
 package com.charginghive.admin.controller;
 
 import com.charginghive.admin.dto.AdminMetricsDto;
+import com.charginghive.admin.dto.AuditLogCursor;
+import com.charginghive.admin.dto.AuditLogSummaryDto;
 import com.charginghive.admin.model.AuditLog;
 import com.charginghive.admin.service.AdminService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -17,13 +22,36 @@ public class AdminController {
 
     private final AdminService adminService;
 
-    // newly added: Audit Log Endpoint
+    // cursor for the next page of a list endpoint; absent on the last page
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    // Audit log list, newest first; filters are optional and the next page's cursor is
+    // returned in the X-Next-Cursor header
     @GetMapping("/audit-logs")
-    public ResponseEntity<List<AuditLog>> getAuditLogs() {
+    public ResponseEntity<List<AuditLogSummaryDto>> getAuditLogs(
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String targetEntity,
+            @RequestParam(required = false) Long targetId,
+            @RequestParam(required = false) String admin,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
         log.info("Received request to get audit logs.");
-        List<AuditLog> auditLogs = adminService.getAuditLogs();
+        int limit = AuditLogCursor.clampSize(size);
+        List<AuditLogSummaryDto> auditLogs = adminService.getAuditLogs(action, targetEntity, targetId, admin,
+                from, to, AuditLogCursor.parse(cursor), limit);
         log.info("Found {} audit log entries.", auditLogs.size());
-        return ResponseEntity.ok(auditLogs);
+        String nextCursor = AuditLogCursor.next(auditLogs, limit);
+        if (nextCursor == null) {
+            return ResponseEntity.ok(auditLogs);
+        }
+        return ResponseEntity.ok().header(NEXT_CURSOR_HEADER, nextCursor).body(auditLogs);
+    }
+
+    @GetMapping("/audit-logs/{id}")
+    public ResponseEntity<AuditLog> getAuditLog(@PathVariable Long id) {
+        return ResponseEntity.ok(adminService.getAuditLog(id));
     }
 
     // newly added: simple dashboard metrics
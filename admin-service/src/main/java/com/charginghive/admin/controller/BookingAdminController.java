@@ -76,9 +76,12 @@ public class BookingAdminController {
      * Get booking statistics for dashboard
      */
     @GetMapping("/bookings/statistics")
-    public ResponseEntity<Map<String, Object>> getBookingStatistics() {
+    public ResponseEntity<Map<String, Object>> getBookingStatistics(
+            @RequestParam(required = false) String groupBy,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
         log.info("Received request for booking statistics.");
-        Map<String, Object> statistics = bookingManagementService.getBookingStatistics();
+        Map<String, Object> statistics = bookingManagementService.getBookingStatistics(groupBy, from, to);
         return ResponseEntity.ok(statistics);
     }
 
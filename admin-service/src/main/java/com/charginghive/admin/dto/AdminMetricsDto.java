@@ -5,6 +5,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,4 +17,7 @@ public class AdminMetricsDto {
     private long approvedStations;
     private long pendingStations;
     private long totalUsers;
+    // sources that failed or timed out; their numbers are reported as 0
+    @Builder.Default
+    private List<String> unavailable = new ArrayList<>();
 }
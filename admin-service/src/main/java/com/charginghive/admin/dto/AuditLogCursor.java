@@ -0,0 +1,49 @@
+package com.charginghive.admin.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Position in the audit log ordered by (timestamp, id) descending.
+ * Sent to clients as "timestamp_id", e.g. "2024-01-15T10:00:00_42".
+ */
+public record AuditLogCursor(LocalDateTime timestamp, Long id) {
+
+    private static final String SEPARATOR = "_";
+    private static final int MAX_PAGE_SIZE = 200;
+
+    /**
+     * Requested page size bounded to [1, MAX_PAGE_SIZE]
+     */
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    public static AuditLogCursor parse(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        int split = cursor.lastIndexOf(SEPARATOR);
+        try {
+            return new AuditLogCursor(LocalDateTime.parse(cursor.substring(0, split)),
+                    Long.parseLong(cursor.substring(split + 1)));
+        } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Cursor for the page after this one, or null when this was the last page
+     */
+    public static String next(List<AuditLogSummaryDto> page, int size) {
+        if (page.isEmpty() || page.size() < size) {
+            return null;
+        }
+        AuditLogSummaryDto last = page.get(page.size() - 1);
+        return last.getTimestamp() + SEPARATOR + last.getId();
+    }
+}
@@ -0,0 +1,20 @@
+package com.charginghive.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// audit log row for list views; details is only returned by the single-entry endpoint
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogSummaryDto {
+    private Long id;
+    private String adminUsername;
+    private String action;
+    private String targetEntity;
+    private Long targetId;
+    private LocalDateTime timestamp;
+}
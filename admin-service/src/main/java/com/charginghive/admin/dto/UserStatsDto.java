@@ -0,0 +1,14 @@
+package com.charginghive.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserStatsDto {
+    private long totalUsers;
+    private long drivers;
+    private long owners;
+}
@@ -10,10 +10,20 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "audit_logs")
+// list queries filter on one column and page by (timestamp, id), newest first; id trails
+// every index so a page is read straight off it without a sort
+@Table(name = "audit_logs", indexes = {
+        @Index(name = "idx_audit_logs_timestamp", columnList = "timestamp, id"),
+        @Index(name = "idx_audit_logs_action", columnList = "action, timestamp, id"),
+        @Index(name = "idx_audit_logs_target", columnList = "targetEntity, targetId, timestamp, id"),
+        @Index(name = "idx_audit_logs_admin", columnList = "adminUsername, timestamp, id")
+})
 public class AuditLog {
+    // ids are handed out in blocks of 50 so inserts can be sent as JDBC batches; MySQL has no
+    // sequences, so Hibernate keeps the counter in an audit_logs_seq table (see IdSequenceInitializer)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_logs_seq")
+    @SequenceGenerator(name = "audit_logs_seq", sequenceName = "audit_logs_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -1,9 +1,40 @@
 package com.charginghive.admin.repository;
 
+import com.charginghive.admin.dto.AuditLogSummaryDto;
 import com.charginghive.admin.model.AuditLog;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog,Long> {
+
+    // One keyset page of audit entries, newest first. Null filters are ignored; the cursor
+    // (cursorTimestamp, cursorId) is the last row of the previous page. Selects the summary
+    // columns only, so the details LOB is never read for list views.
+    @Query("SELECT new com.charginghive.admin.dto.AuditLogSummaryDto(" +
+           "a.id, a.adminUsername, a.action, a.targetEntity, a.targetId, a.timestamp) " +
+           "FROM AuditLog a WHERE (:action IS NULL OR a.action = :action) " +
+           "AND (:targetEntity IS NULL OR a.targetEntity = :targetEntity) " +
+           "AND (:targetId IS NULL OR a.targetId = :targetId) " +
+           "AND (:adminUsername IS NULL OR a.adminUsername = :adminUsername) " +
+           "AND (:from IS NULL OR a.timestamp >= :from) " +
+           "AND (:to IS NULL OR a.timestamp < :to) " +
+           "AND (:cursorTimestamp IS NULL OR a.timestamp < :cursorTimestamp " +
+           "OR (a.timestamp = :cursorTimestamp AND a.id < :cursorId)) " +
+           "ORDER BY a.timestamp DESC, a.id DESC")
+    List<AuditLogSummaryDto> findSummaries(@Param("action") String action,
+                                           @Param("targetEntity") String targetEntity,
+                                           @Param("targetId") Long targetId,
+                                           @Param("adminUsername") String adminUsername,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           @Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+                                           @Param("cursorId") Long cursorId,
+                                           Limit limit);
 }
@@ -1,16 +1,26 @@
 package com.charginghive.admin.service;
 
 
+import com.charginghive.admin.customException.NotFoundException;
 import com.charginghive.admin.dto.*;
 import com.charginghive.admin.model.AuditLog;
 import com.charginghive.admin.repository.AuditLogRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
-import org.springframework.web.client.RestClientException;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
@@ -20,70 +30,78 @@ public class AdminService {
     private final RestClient stationClient;
     private final AuditLogRepository auditLogRepository;
 
-    public AdminService(RestClient.Builder restClientBuilder,AuditLogRepository auditLogRepository) {
-        this.userClient = restClientBuilder.baseUrl("http://AUTH-SERVICE").build();
-        this.stationClient = restClientBuilder.baseUrl("http://STATION-SERVICE").build();
+    private final Executor executor;
+    private final Duration callTimeout;
+
+    public AdminService(RestClient.Builder restClientBuilder,
+                        AuditLogRepository auditLogRepository,
+                        @Qualifier("applicationTaskExecutor") Executor executor,
+                        @Value("${admin.metrics.timeout:2s}") Duration callTimeout) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+                HttpClient.newBuilder().connectTimeout(callTimeout).build());
+        requestFactory.setReadTimeout(callTimeout);
+        this.userClient = restClientBuilder.clone().baseUrl("http://AUTH-SERVICE").requestFactory(requestFactory).build();
+        this.stationClient = restClientBuilder.clone().baseUrl("http://STATION-SERVICE").requestFactory(requestFactory).build();
         this.auditLogRepository = auditLogRepository;
+        this.executor = executor;
+        this.callTimeout = callTimeout;
     }
 
     public AdminMetricsDto getMetrics() {
-        long totalStations = 0;
-        long pendingStations = 0;
-        long approvedStations = 0;
-        long totalUsers = 0;
-
-
-        // Try-catch blocks are used here for resilience — if one API call fails,
-        // we still return partial metrics instead of failing the entire request.
-        try {
-            List<StationDto> allStations = stationClient.get()
-                    .uri("/stations")
-                    .retrieve()
-                    .body(new ParameterizedTypeReference<>() {});
-            if (allStations != null) {
-                totalStations = allStations.size();
-                approvedStations = allStations.stream().filter(StationDto::isApproved).count();
-            }
-        } catch (RestClientException e) {
-            log.warn("Failed to fetch stations for metrics", e);
-        }
-
-        try {
-            List<StationDto> unapproved = stationClient.get()
-                    .uri("/stations/unapproved")
-                    .retrieve()
-                    .body(new ParameterizedTypeReference<>() {});
-            if (unapproved != null) {
-                pendingStations = unapproved.size();
-            }
-        } catch (RestClientException e) {
-            log.warn("Failed to fetch unapproved stations for metrics", e);
+        // both services answer with COUNT-backed stats and are asked at the same time;
+        // a failed or slow source leaves its numbers at 0 and is listed as unavailable
+        CompletableFuture<StationStatsDto> stationStats = fetch("station-service",
+                () -> stationClient.get().uri("/stations/stats").retrieve().body(StationStatsDto.class));
+        CompletableFuture<UserStatsDto> userStats = fetch("auth-service",
+                () -> userClient.get().uri("/auth/stats").retrieve().body(UserStatsDto.class));
+
+        AdminMetricsDto metrics = AdminMetricsDto.builder().build();
+        StationStatsDto stations = stationStats.join();
+        if (stations != null) {
+            metrics.setTotalStations(stations.getTotalStations());
+            metrics.setApprovedStations(stations.getApprovedStations());
+            metrics.setPendingStations(stations.getPendingStations());
+        } else {
+            metrics.getUnavailable().add("stations");
         }
-
-        try {
-            List<UserDto> users = userClient.get()
-                    .uri("/auth/get-all")
-                    .retrieve()
-                    .body(new ParameterizedTypeReference<>() {});
-            if (users != null) {
-                totalUsers = users.size();
-            }
-        } catch (RestClientException e) {
-            log.warn("Failed to fetch users for metrics", e);
+        UserStatsDto users = userStats.join();
+        if (users != null) {
+            metrics.setTotalUsers(users.getTotalUsers());
+        } else {
+            metrics.getUnavailable().add("users");
         }
+        return metrics;
+    }
 
-        return AdminMetricsDto.builder()
-                .totalStations(totalStations)
-                .approvedStations(approvedStations)
-                .pendingStations(pendingStations)
-                .totalUsers(totalUsers)
-                .build();
+    private <T> CompletableFuture<T> fetch(String source, Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, executor)
+                .completeOnTimeout(null, callTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    log.warn("Failed to fetch metrics from {}", source, e);
+                    return null;
+                });
     }
 
     // --- Admin Service ---
 
-    public List<AuditLog> getAuditLogs() {
-        return auditLogRepository.findAll();
+    /**
+     * One page of the audit log, newest first, without the details column. All filters are
+     * optional; from is inclusive and to exclusive.
+     */
+    public List<AuditLogSummaryDto> getAuditLogs(String action, String targetEntity, Long targetId,
+                                                 String adminUsername, LocalDateTime from, LocalDateTime to,
+                                                 AuditLogCursor cursor, int size) {
+        return auditLogRepository.findSummaries(action, targetEntity, targetId, adminUsername, from, to,
+                cursor == null ? null : cursor.timestamp(), cursor == null ? null : cursor.id(),
+                Limit.of(size));
+    }
+
+    /**
+     * A single audit entry including its details
+     */
+    public AuditLog getAuditLog(Long id) {
+        return auditLogRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Audit log entry not found with id=" + id));
     }
 }
 
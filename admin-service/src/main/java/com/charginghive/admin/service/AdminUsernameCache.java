@@ -0,0 +1,56 @@
+package com.charginghive.admin.service;
+
+import com.charginghive.admin.customException.UserNotFoundException;
+import com.charginghive.admin.dto.AdminDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.Duration;
+
+/**
+ * Admin display names by user id, looked up in AUTH-SERVICE once and then kept locally.
+ * A handful of admins write all audit entries, so nearly every lookup is a hit.
+ */
+@Component
+public class AdminUsernameCache {
+
+    private final RestClient userClient;
+    private final Cache<Long, String> usernames;
+
+    public AdminUsernameCache(RestClient.Builder restClientBuilder,
+                              @Value("${admin.audit.username-cache.max-size:1000}") long maxSize,
+                              @Value("${admin.audit.username-cache.ttl:30m}") Duration ttl) {
+        this.userClient = restClientBuilder.clone().baseUrl("http://AUTH-SERVICE").build();
+        this.usernames = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * The admin's name; throws UserNotFoundException when AUTH-SERVICE does not know the id
+     */
+    public String usernameOf(Long adminId) {
+        return usernames.get(adminId, this::fetchUsername);
+    }
+
+    private String fetchUsername(Long adminId) {
+        try {
+            AdminDto user = userClient.get()
+                    .uri("auth/get-by-id/{id}", adminId)
+                    .retrieve()
+                    .body(AdminDto.class);
+
+            if (user == null) {
+                throw new UserNotFoundException("Received an empty response for admin ID: " + adminId);
+            }
+            return user.getName();
+        } catch (RestClientResponseException e) {
+            throw new UserNotFoundException("Admin user with ID " + adminId + " not found.");
+        }
+    }
+}
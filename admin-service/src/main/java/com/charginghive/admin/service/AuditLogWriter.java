@@ -0,0 +1,193 @@
+package com.charginghive.admin.service;
+
+import com.charginghive.admin.model.AuditLog;
+import com.charginghive.admin.repository.AuditLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes audit log entries off the request thread. Admin actions put an entry on a
+ * bounded queue and return; one background thread drains it and saves the entries in
+ * batches, resolving admin names through AdminUsernameCache.
+ * When the queue is full, callers wait up to the enqueue timeout and then save their
+ * entry themselves, so a slow database slows admin actions down instead of losing audit
+ * records. Entries still queued at shutdown are written before the context closes.
+ */
+@Component
+@Slf4j
+public class AuditLogWriter {
+
+    private final AuditLogRepository auditLogRepository;
+    private final AdminUsernameCache usernameCache;
+    private final BlockingQueue<PendingEntry> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration enqueueTimeout;
+    private final Counter writtenCounter;
+    private final Counter callerWrittenCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    // what the admin did, captured at the time of the action; the name is resolved when written
+    private record PendingEntry(Long adminId, String action, String targetEntity, Long targetId,
+                                String details, LocalDateTime timestamp) {
+    }
+
+    public AuditLogWriter(AuditLogRepository auditLogRepository,
+                          AdminUsernameCache usernameCache,
+                          MeterRegistry meterRegistry,
+                          @Value("${admin.audit.queue-capacity:10000}") int queueCapacity,
+                          @Value("${admin.audit.batch-size:50}") int batchSize,
+                          @Value("${admin.audit.flush-interval:500ms}") Duration flushInterval,
+                          @Value("${admin.audit.enqueue-timeout:100ms}") Duration enqueueTimeout) {
+        this.auditLogRepository = auditLogRepository;
+        this.usernameCache = usernameCache;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.enqueueTimeout = enqueueTimeout;
+        Gauge.builder("admin.audit.queue.size", queue, BlockingQueue::size)
+                .description("Audit entries waiting to be written")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("admin.audit.written")
+                .description("Audit entries written by the background writer")
+                .register(meterRegistry);
+        this.callerWrittenCounter = Counter.builder("admin.audit.written.by.caller")
+                .description("Audit entries written on the request thread because the queue was full")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("admin.audit.failed")
+                .description("Audit entries that could not be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("audit-log-writer").daemon(true).start(this::run);
+        log.info("Audit log writer started, batch size {}, flush interval {}", batchSize, flushInterval);
+    }
+
+    /**
+     * Queue an audit entry for the admin's action
+     */
+    public void record(Long adminId, String action, String targetEntity, Long targetId, String details) {
+        PendingEntry entry = new PendingEntry(adminId, action, targetEntity, targetId, details, LocalDateTime.now());
+        try {
+            if (running && queue.offer(entry, enqueueTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // queue full or writer stopped: write it here rather than drop it
+        write(List.of(entry));
+        callerWrittenCounter.increment();
+    }
+
+    private void run() {
+        List<PendingEntry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingEntry first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writtenCounter.increment(write(batch));
+            } catch (InterruptedException e) {
+                // stop() never interrupts the writer, so this only happens when the JVM is going down
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Audit log writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Stop taking new work and write whatever is still queued. The writer is not interrupted:
+     * an interrupt landing inside a JDBC call would fail the batch being written. It finishes
+     * that batch and sees running == false within one flush interval.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(flushInterval.toMillis() + TimeUnit.SECONDS.toMillis(10));
+        if (writer.isAlive()) {
+            log.warn("Audit log writer still busy after waiting, flushing the queue alongside it");
+        }
+        List<PendingEntry> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            writtenCounter.increment(write(remaining.subList(from, Math.min(from + batchSize, remaining.size()))));
+        }
+        log.info("Audit log writer stopped, flushed {} queued entries", remaining.size());
+    }
+
+    // saves the entries in one batch, falling back to one by one so a bad entry cannot sink the rest
+    private int write(List<PendingEntry> entries) {
+        List<AuditLog> logs = entries.stream().map(this::toAuditLog).toList();
+        try {
+            auditLogRepository.saveAll(logs);
+            return logs.size();
+        } catch (Exception e) {
+            log.warn("Batch of {} audit entries failed, writing them one by one", logs.size(), e);
+        }
+        int written = 0;
+        for (AuditLog auditLog : logs) {
+            try {
+                auditLog.setId(null);
+                auditLogRepository.save(auditLog);
+                written++;
+            } catch (Exception e) {
+                failedCounter.increment();
+                log.error("Could not write audit entry {} {} {} by admin {}", auditLog.getAction(),
+                        auditLog.getTargetEntity(), auditLog.getTargetId(), auditLog.getAdminUsername(), e);
+            }
+        }
+        return written;
+    }
+
+    private AuditLog toAuditLog(PendingEntry entry) {
+        return AuditLog.builder()
+                .adminUsername(resolveUsername(entry.adminId()))
+                .action(entry.action())
+                .targetEntity(entry.targetEntity())
+                .targetId(entry.targetId())
+                .timestamp(entry.timestamp())
+                .details(entry.details())
+                .build();
+    }
+
+    // the action already happened, so an unknown or unreachable admin still gets an entry
+    private String resolveUsername(Long adminId) {
+        try {
+            String username = usernameCache.usernameOf(adminId);
+            if (username != null) {
+                return username;
+            }
+        } catch (Exception e) {
+            log.warn("Could not resolve username for admin id {}", adminId, e);
+        }
+        return "admin#" + adminId;
+    }
+}
@@ -1,33 +1,28 @@
 package com.charginghive.admin.service;
 
 
-import com.charginghive.admin.customException.UserNotFoundException;
-import com.charginghive.admin.dto.AdminDto;
 import com.charginghive.admin.dto.BookingResponseDto;
-import com.charginghive.admin.model.AuditLog;
-import com.charginghive.admin.repository.AuditLogRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
-import org.springframework.web.client.RestClientResponseException;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
 @Slf4j
 public class BookingManagementService {
     private final RestClient bookingClient;
-    private final RestClient userClient;
-    private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
 
 
-    public BookingManagementService(RestClient.Builder restClientBuilder, AuditLogRepository auditLogRepository) {
+    public BookingManagementService(RestClient.Builder restClientBuilder, AuditLogWriter auditLogWriter) {
         this.bookingClient = restClientBuilder.baseUrl("http://BOOKING-SERVICE").build();
-        this.userClient = restClientBuilder.baseUrl("http://AUTH-SERVICE").build();
-        this.auditLogRepository = auditLogRepository;
+        this.auditLogWriter = auditLogWriter;
     }
 
     /**
@@ -89,15 +84,8 @@ public class BookingManagementService {
                     .body(BookingResponseDto.class);
 
             // Log the admin action
-            String adminUsername = getUsernameById(adminId);
-            AuditLog auditLog = AuditLog.builder()
-                    .adminUsername(adminUsername)
-                    .action("CANCEL_BOOKING")
-                    .targetEntity("Booking")
-                    .targetId(bookingId)
-                    .details("Booking cancelled by admin" + (reason != null ? " - Reason: " + reason : ""))
-                    .build();
-            auditLogRepository.save(auditLog);
+            auditLogWriter.record(adminId, "CANCEL_BOOKING", "Booking", bookingId,
+                    "Booking cancelled by admin" + (reason != null ? " - Reason: " + reason : ""));
 
             return booking;
         } catch (Exception e) {
@@ -117,15 +105,7 @@ public class BookingManagementService {
                     .body(BookingResponseDto.class);
 
             // Log the admin action
-            String adminUsername = getUsernameById(adminId);
-            AuditLog auditLog = AuditLog.builder()
-                    .adminUsername(adminUsername)
-                    .action("COMPLETE_BOOKING")
-                    .targetEntity("Booking")
-                    .targetId(bookingId)
-                    .details("Booking completed by admin")
-                    .build();
-            auditLogRepository.save(auditLog);
+            auditLogWriter.record(adminId, "COMPLETE_BOOKING", "Booking", bookingId, "Booking completed by admin");
 
             return booking;
         } catch (Exception e) {
@@ -135,28 +115,22 @@ public class BookingManagementService {
     }
 
     /**
-     * Get booking statistics for admin dashboard
+     * Get booking statistics for admin dashboard, aggregated by booking-service.
+     * groupBy (day|station), from and to are optional and passed through as given.
      */
-    public Map<String, Object> getBookingStatistics() {
+    public Map<String, Object> getBookingStatistics(String groupBy, String from, String to) {
         try {
-            // Get all bookings to calculate statistics
-            List<BookingResponseDto> allBookings = getAllBookings();
-
-            Map<String, Object> stats = new java.util.HashMap<>();
-            stats.put("totalBookings", allBookings.size());
-            stats.put("activeBookings", allBookings.stream()
-                    .filter(b-> b.getStatus().toString().equals("BOOKED"))
-                    .count());
-            stats.put("completedBookings", allBookings.stream()
-                    .filter(b -> "COMPLETED".equals(b.getStatus().toString()))
-                    .count());
-            stats.put("cancelledBookings", allBookings.stream()
-                    .filter(b -> "CANCELLED".equals(b.getStatus().toString()))
-                    .count());
-
-            return stats;
+            Map<String, Object> stats = bookingClient.get()
+                    .uri(uriBuilder -> uriBuilder.path("/bookings/admin/statistics")
+                            .queryParamIfPresent("groupBy", Optional.ofNullable(groupBy))
+                            .queryParamIfPresent("from", Optional.ofNullable(from))
+                            .queryParamIfPresent("to", Optional.ofNullable(to))
+                            .build())
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<>() {});
+            return stats != null ? stats : Collections.emptyMap();
         } catch (Exception e) {
-            log.error("Error calculating booking statistics", e);
+            log.error("Error fetching booking statistics", e);
             return Collections.emptyMap();
         }
     }
@@ -176,20 +150,4 @@ public class BookingManagementService {
             return Collections.emptyList();
         }
     }
-
-    private String getUsernameById(Long adminId) {
-        try {
-            AdminDto user = userClient.get()
-                    .uri("auth/get-by-id/{id}", adminId)
-                    .retrieve()
-                    .body(AdminDto.class);
-
-            if (user == null) {
-                throw new UserNotFoundException("Received an empty response for admin ID: " + adminId);
-            }
-            return user.getName();
-        } catch (RestClientResponseException e) {
-            throw new UserNotFoundException("Admin user with ID " + adminId + " not found.");
-        }
-    }
 }
@@ -0,0 +1,66 @@
+package com.charginghive.admin.repository;
+
+import com.charginghive.admin.model.AuditLog;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the batches AuditLogWriter hands to saveAll go out as JDBC batches rather than
+ * one insert statement per entry.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class AuditLogBatchInsertTest {
+
+    // must match hibernate.jdbc.batch_size and the allocationSize of AuditLog.id
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void saveAllInsertsInBatches() {
+        int count = 500;
+        List<AuditLog> logs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            logs.add(AuditLog.builder().adminUsername("admin").action("APPROVE_STATION")
+                    .targetEntity("Station").targetId((long) i).timestamp(LocalDateTime.now())
+                    .details("approved station " + i).build());
+        }
+
+        auditLogRepository.saveAllAndFlush(logs);
+
+        long statements = statistics.getPrepareStatementCount();
+        assertEquals(count, statistics.getEntityInsertCount());
+        // one sequence call and one insert statement per block of 50, plus the block already open
+        assertTrue(statements <= 2L * (count / BATCH_SIZE) + 2,
+                "expected batched inserts, got " + statements + " statements for " + count + " entries");
+    }
+}
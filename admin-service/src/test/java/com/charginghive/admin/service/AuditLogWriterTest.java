@@ -0,0 +1,120 @@
+package com.charginghive.admin.service;
+
+import com.charginghive.admin.model.AuditLog;
+import com.charginghive.admin.repository.AuditLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuditLogWriterTest {
+
+    private AuditLogRepository repository;
+    private AuditLogWriter writer;
+    private final List<Long> saved = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(AuditLogRepository.class);
+        AdminUsernameCache usernameCache = mock(AdminUsernameCache.class);
+        when(usernameCache.usernameOf(anyLong())).thenReturn("admin");
+        writer = new AuditLogWriter(repository, usernameCache, new SimpleMeterRegistry(),
+                100, 10, Duration.ofMillis(50), Duration.ofMillis(100));
+        // like a JDBC call, saving fails on an interrupted thread
+        when(repository.save(any())).thenAnswer(invocation -> {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("interrupted");
+            }
+            AuditLog log = invocation.getArgument(0);
+            saved.add(log.getTargetId());
+            return log;
+        });
+    }
+
+    private void record(int count) {
+        for (long i = 0; i < count; i++) {
+            writer.record(1L, "APPROVE_STATION", "Station", i, null);
+        }
+    }
+
+    @Test
+    void stopWhileABatchIsBeingWrittenKeepsEveryEntry() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean first = new AtomicBoolean(true);
+        when(repository.saveAll(any())).thenAnswer(invocation -> {
+            if (first.getAndSet(false)) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("interrupted while writing", e);
+                }
+            }
+            Iterable<AuditLog> logs = invocation.getArgument(0);
+            logs.forEach(log -> saved.add(log.getTargetId()));
+            return logs;
+        });
+
+        writer.start();
+        record(25);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        Thread stopping = Thread.ofPlatform().start(() -> {
+            try {
+                writer.stop();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        // let stop() reach the point where it waits for the writer, then finish the batch
+        Thread.sleep(200);
+        release.countDown();
+        stopping.join(TimeUnit.SECONDS.toMillis(15));
+
+        assertEquals(25, saved.size());
+        assertEquals(25, new HashSet<>(saved).size());
+    }
+
+    @Test
+    void stopFlushesEntriesStillQueued() throws Exception {
+        when(repository.saveAll(any())).thenAnswer(invocation -> {
+            Iterable<AuditLog> logs = invocation.getArgument(0);
+            logs.forEach(log -> saved.add(log.getTargetId()));
+            return logs;
+        });
+
+        writer.start();
+        record(40);
+        writer.stop();
+
+        assertEquals(40, saved.size());
+    }
+
+    @Test
+    void failedBatchIsWrittenOneByOne() throws Exception {
+        when(repository.saveAll(any())).thenThrow(new IllegalStateException("batch rejected"));
+
+        writer.start();
+        record(5);
+        writer.stop();
+
+        assertEquals(5, saved.size());
+    }
+}
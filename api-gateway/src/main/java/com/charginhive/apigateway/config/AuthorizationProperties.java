@@ -0,0 +1,35 @@
+package com.charginhive.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Declarative access rules for the gateway, bound from gateway.auth.rules[n].*
+ * and compiled once into a {@link RouteAuthorizationTable}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.auth")
+public class AuthorizationProperties {
+
+    private List<RuleDefinition> rules = new ArrayList<>();
+
+    @Data
+    public static class RuleDefinition {
+        // path prefix matched on whole segments, e.g. /api/admin covers /api/admin/users
+        private String path;
+        // HTTP methods the rule applies to; empty means every method
+        private List<String> methods = new ArrayList<>();
+        // roles allowed through; empty means any authenticated user
+        private EnumSet<Role> roles = EnumSet.noneOf(Role.class);
+        // no JWT required at all
+        private boolean open;
+        // service-to-service endpoint: refused at the gateway whatever the token carries
+        private boolean internal;
+    }
+}
@@ -0,0 +1,47 @@
+package com.charginhive.apigateway.config;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Roles issued by auth-service, each mapped to one bit so a token's roles can be
+ * checked against a rule with a single AND.
+ */
+public enum Role {
+    ROLE_ADMIN, ROLE_OWNER, ROLE_DRIVER;
+
+    private static final Map<String, Role> BY_NAME = Map.of(
+            ROLE_ADMIN.name(), ROLE_ADMIN,
+            ROLE_OWNER.name(), ROLE_OWNER,
+            ROLE_DRIVER.name(), ROLE_DRIVER
+    );
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Bitmask of the known roles among a token's authorities; unknown authorities are ignored
+     */
+    public static int maskOf(Collection<String> authorities) {
+        int mask = 0;
+        if (authorities == null) {
+            return mask;
+        }
+        for (String authority : authorities) {
+            Role role = BY_NAME.get(authority);
+            if (role != null) {
+                mask |= role.bit();
+            }
+        }
+        return mask;
+    }
+
+    public static int maskOf(Iterable<Role> roles) {
+        int mask = 0;
+        for (Role role : roles) {
+            mask |= role.bit();
+        }
+        return mask;
+    }
+}
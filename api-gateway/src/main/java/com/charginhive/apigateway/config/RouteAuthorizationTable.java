@@ -0,0 +1,193 @@
+package com.charginhive.apigateway.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Path-prefix trie of access rules, compiled once from {@link AuthorizationProperties}.
+ * A request is governed by the rule on the deepest matching path segment whose method
+ * mask includes the request method; paths without a rule only need a valid token.
+ * A '*' segment in a rule path stands for any one segment; where a literal segment and
+ * '*' lead to rules at the same depth, the literal one wins. Lookups walk the path in place and compare segments with regionMatches, so
+ * evaluating a request allocates nothing.
+ */
+@Component
+@Slf4j
+public class RouteAuthorizationTable {
+
+    private static final int ALL_METHODS = -1;
+    // only has bits no token can carry
+    private static final int NO_ROLE = -1 << Role.values().length;
+
+    /**
+     * Compiled rule: methods and roles are bitmasks, 0 roles means any authenticated user
+     */
+    public record Rule(int methods, int roles, boolean open) {
+
+        public boolean permits(int roleMask) {
+            return roles == 0 || (roles & roleMask) != 0;
+        }
+    }
+
+    public static final Rule AUTHENTICATED = new Rule(ALL_METHODS, 0, false);
+    // dot segments and ';' path parameters could resolve to another route downstream, so they
+    // are never authorized
+    public static final Rule DENY = new Rule(ALL_METHODS, NO_ROLE, false);
+
+    private static final class Node {
+        private final int depth;
+        private String[] labels = new String[0];
+        private Node[] children = new Node[0];
+        private Rule[] rules = new Rule[0];
+        // child for a '*' segment, if any
+        private Node wildcard;
+
+        private Node(int depth) {
+            this.depth = depth;
+        }
+
+        private Node child(String path, int start, int end) {
+            int length = end - start;
+            for (int i = 0; i < labels.length; i++) {
+                String label = labels[i];
+                if (label.length() == length && path.regionMatches(start, label, 0, length)) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node getOrAddChild(String label) {
+            if (label.equals("*")) {
+                return wildcard != null ? wildcard : (wildcard = new Node(depth + 1));
+            }
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i].equals(label)) {
+                    return children[i];
+                }
+            }
+            labels = Arrays.copyOf(labels, labels.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            labels[labels.length - 1] = label;
+            return children[children.length - 1] = new Node(depth + 1);
+        }
+
+        private Rule ruleFor(int methodBit) {
+            for (Rule rule : rules) {
+                if ((rule.methods() & methodBit) != 0) {
+                    return rule;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Node root = new Node(0);
+
+    public RouteAuthorizationTable(AuthorizationProperties properties) {
+        for (AuthorizationProperties.RuleDefinition definition : properties.getRules()) {
+            add(definition);
+        }
+        log.info("Route authorization table compiled with {} rules", properties.getRules().size());
+    }
+
+    private void add(AuthorizationProperties.RuleDefinition definition) {
+        if (definition.getPath() == null || !definition.getPath().startsWith("/")) {
+            throw new IllegalArgumentException("Authorization rule path must start with '/': " + definition.getPath());
+        }
+        int methods = 0;
+        for (String method : definition.getMethods()) {
+            methods |= methodBit(HttpMethod.valueOf(method.trim().toUpperCase()));
+        }
+        if (methods == 0) {
+            methods = ALL_METHODS;
+        }
+        Rule rule = definition.isInternal()
+                ? new Rule(methods, NO_ROLE, false)
+                : new Rule(methods, Role.maskOf(definition.getRoles()), definition.isOpen());
+
+        Node node = root;
+        for (String segment : definition.getPath().split("/")) {
+            if (!segment.isEmpty() && !segment.equals("**")) {
+                node = node.getOrAddChild(segment);
+            }
+        }
+        node.rules = Arrays.copyOf(node.rules, node.rules.length + 1);
+        node.rules[node.rules.length - 1] = rule;
+    }
+
+    /**
+     * The rule governing a request path and method
+     */
+    public Rule match(String path, HttpMethod method) {
+        // matrix parameters are stripped by routing and Spring MVC, so "/api/admin;x=1/users"
+        // would reach the admin endpoint while missing its rule here
+        if (path.indexOf(';') >= 0) {
+            return DENY;
+        }
+        int length = path.length();
+        int start = 0;
+        // checked over the whole path, not just as far as the trie reaches
+        while (start < length) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (isDotSegment(path, start, end)) {
+                return DENY;
+            }
+            start = end + 1;
+        }
+        int methodBit = methodBit(method);
+        Node match = deepestWithRule(root, path, 0, methodBit);
+        return match != null ? match.ruleFor(methodBit) : AUTHENTICATED;
+    }
+
+    // deepest node on the path from `start` on, or `node` itself, with a rule for the method
+    private static Node deepestWithRule(Node node, String path, int start, int methodBit) {
+        int length = path.length();
+        while (start < length && path.charAt(start) == '/') {
+            start++;
+        }
+        if (start < length) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            Node literal = node.child(path, start, end);
+            Node best = literal == null ? null : deepestWithRule(literal, path, end, methodBit);
+            if (node.wildcard != null) {
+                Node wildcard = deepestWithRule(node.wildcard, path, end, methodBit);
+                if (wildcard != null && (best == null || wildcard.depth > best.depth)) {
+                    best = wildcard;
+                }
+            }
+            if (best != null) {
+                return best;
+            }
+        }
+        return node.ruleFor(methodBit) != null ? node : null;
+    }
+
+    private static boolean isDotSegment(String path, int start, int end) {
+        int length = end - start;
+        return (length == 1 && path.charAt(start) == '.')
+                || (length == 2 && path.charAt(start) == '.' && path.charAt(start + 1) == '.');
+    }
+
+    private static int methodBit(HttpMethod method) {
+        return switch (method.name()) {
+            case "GET" -> 1;
+            case "HEAD" -> 1 << 1;
+            case "POST" -> 1 << 2;
+            case "PUT" -> 1 << 3;
+            case "PATCH" -> 1 << 4;
+            case "DELETE" -> 1 << 5;
+            case "OPTIONS" -> 1 << 6;
+            default -> 1 << 7;
+        };
+    }
+}
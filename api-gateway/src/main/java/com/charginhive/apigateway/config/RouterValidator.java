@@ -1,26 +0,0 @@
-package com.charginhive.apigateway.config;
-
-import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.stereotype.Component;
-
-import java.util.List;
-
-@Component
-public class RouterValidator {
-
-    //all public endpoints that do not require a JWT for access
-    public static final List<String> openApiEndpoints = List.of(
-            "/api/auth/register",
-            "/api/auth/login",
-            "/test/hello",
-            "/eureka"
-    );
-
-    
-    public boolean isSecured(ServerHttpRequest request) {
-        return openApiEndpoints
-                .stream()
-                .noneMatch(uri -> request.getURI().getPath().contains(uri));
-    }
-
-}
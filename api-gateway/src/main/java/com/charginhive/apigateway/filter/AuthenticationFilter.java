@@ -1,15 +1,13 @@
 package com.charginhive.apigateway.filter;
 
 
-import com.charginhive.apigateway.config.RouterValidator;
+import com.charginhive.apigateway.config.RouteAuthorizationTable;
 import com.charginhive.apigateway.util.JwtUtil;
-import io.jsonwebtoken.Claims;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
-import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
@@ -17,14 +15,12 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
-
 @Component
 @Slf4j
 public class AuthenticationFilter implements GlobalFilter, Ordered {
 
     @Autowired
-    private RouterValidator routerValidator;
+    private RouteAuthorizationTable authorizationTable;
 
     @Autowired
     private JwtUtil jwtUtil;
@@ -32,9 +28,10 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
-        log.warn("Request URI : {}", request.getURI());
+        log.debug("Request URI : {}", request.getURI());
         // Check if the endpoint is secured
-        if (routerValidator.isSecured(request)) {
+        RouteAuthorizationTable.Rule rule = authorizationTable.match(request.getURI().getPath(), request.getMethod());
+        if (!rule.open()) {
             // Check for Authorization header
             if (this.isAuthMissing(request)) {
                 log.warn("Authorization header is missing for secured endpoint: {}", request.getURI());
@@ -42,24 +39,26 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
             }
 
             final String token = this.getAuthHeader(request);
+            if (token == null) {
+                return this.onError(exchange, "Authorization header is missing", HttpStatus.UNAUTHORIZED);
+            }
 
-            //Validate the JWT
+            //Validate the JWT - signature is checked once, then served from the verified-token cache
+            JwtUtil.VerifiedToken verified;
             try {
-                jwtUtil.validateToken(token);
+                verified = jwtUtil.verify(token);
             } catch (Exception e) {
                 log.error("Invalid authorization token. Error: {}", e.getMessage());
                 return this.onError(exchange, "Authorization failed: Invalid Token", HttpStatus.UNAUTHORIZED);
             }
 
-            Claims claims = jwtUtil.getClaims(token);
-
             //Check for required role
-            if (!hasRequiredRole(request, (List<String>) claims.get("authorities"))) {
-                log.warn("User does not have required role to access {}. Authorities: {}", request.getURI().getPath(), claims.get("authorities"));
+            if (!rule.permits(verified.roles())) {
+                log.warn("User does not have required role to access {}. Authorities: {}", request.getURI().getPath(), verified.authorities());
                 return this.onError(exchange, "Access Denied: Insufficient permissions", HttpStatus.FORBIDDEN);
             }
 
-            Long userId = claims.get("user_id", Long.class);
+            Long userId = verified.userId();
             log.debug("Authenticated user: {}, forwarding request to: {}", userId, request.getURI());
 
             ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
@@ -97,33 +96,4 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
     private boolean isAuthMissing(ServerHttpRequest request) {
         return !request.getHeaders().containsKey("Authorization");
     }
-
-    /**
-     * Checks if the user has the required role to access the requested path.
-     */
-    private boolean hasRequiredRole(ServerHttpRequest request, List<String> roles) {
-        String path = request.getURI().getPath();
-        if (roles == null || roles.isEmpty()) {
-            return false;
-        }
-
-        if (path.startsWith("/stations")) {
-
-            if (path.contains("/unapproved")) {
-                return roles.contains("ROLE_ADMIN");
-            }
-
-            if (request.getMethod() != HttpMethod.GET) {
-                return roles.contains("ROLE_ADMIN") || roles.contains("ROLE_OPERATOR");
-            }
-        }
-
-
-        if (path.startsWith("/admin")) {
-            return roles.contains("ROLE_ADMIN");
-        }
-
-        return true;
-    }
 }
-
@@ -1,6 +1,11 @@
 package com.charginhive.apigateway.util;
 
+import com.charginhive.apigateway.config.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -9,6 +14,14 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
 
 @Slf4j
 @Component
@@ -17,26 +30,99 @@ public class JwtUtil {
     @Value("${jwt.secret.key}")
     private String jwtSecret;
 
+    @Value("${gateway.jwt-cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    // upper bound on how long a verified token is trusted without re-checking the signature
+    @Value("${gateway.jwt-cache.max-ttl:5m}")
+    private Duration cacheMaxTtl;
+
     private SecretKey key;
+    // JJWT parsers are immutable and thread-safe, so one is built up front and shared
+    private JwtParser parser;
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    /**
+     * What the gateway needs from a token whose signature and expiry were checked
+     */
+    public record VerifiedToken(Long userId, List<String> authorities, int roles, Instant expiresAt) {
+    }
 
     // must be same as in auth service for successful validation
     @PostConstruct
     public void init() {
         log.info("Initializing JWT secret key for validation.");
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new TokenExpiry(cacheMaxTtl))
+                .build();
     }
 
-    public void validateToken(final String token) {
-        log.debug("Validating token... {}", token);
-        Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+    /**
+     * Verify the token once and return its user id and authorities. Tokens already
+     * verified are answered from a cache keyed by the token's SHA-256 hash, and drop
+     * out of it no later than their exp claim.
+     */
+    public VerifiedToken verify(final String token) {
+        String cacheKey = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null && (cached.expiresAt() == null || cached.expiresAt().isAfter(Instant.now()))) {
+            return cached;
+        }
+        Claims claims = getClaims(token);
+        Date expiration = claims.getExpiration();
+        @SuppressWarnings("unchecked")
+        List<String> authorities = (List<String>) claims.get("authorities");
+        VerifiedToken verified = new VerifiedToken(
+                claims.get("user_id", Long.class),
+                authorities == null ? List.of() : List.copyOf(authorities),
+                Role.maskOf(authorities),
+                expiration == null ? null : expiration.toInstant());
+        verifiedTokens.put(cacheKey, verified);
         log.debug("Token validation successful.");
+        return verified;
+    }
+
+    public void validateToken(final String token) {
+        parser.parseSignedClaims(token);
     }
 
     public Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // cache entries live until the token's exp, capped at maxTtl
+    private record TokenExpiry(Duration maxTtl) implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long maxNanos = maxTtl.toNanos();
+            if (value.expiresAt() == null) {
+                return maxNanos;
+            }
+            long untilExp = Duration.between(Instant.now(), value.expiresAt()).toNanos();
+            return Math.max(0, Math.min(maxNanos, untilExp));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,148 @@
+package com.charginhive.apigateway.config;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.http.HttpMethod;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the rule table compiled from the gateway's own application.properties.
+ */
+class RouteAuthorizationTableTest {
+
+    private static final int ADMIN = Role.ROLE_ADMIN.bit();
+    private static final int OWNER = Role.ROLE_OWNER.bit();
+    private static final int DRIVER = Role.ROLE_DRIVER.bit();
+
+    private static RouteAuthorizationTable table;
+
+    @BeforeAll
+    static void compileConfiguredRules() throws IOException {
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        AuthorizationProperties bound = new Binder(new MapConfigurationPropertySource(properties))
+                .bind("gateway.auth", AuthorizationProperties.class)
+                .get();
+        table = new RouteAuthorizationTable(bound);
+    }
+
+    private static boolean allowed(HttpMethod method, String path, int roles) {
+        RouteAuthorizationTable.Rule rule = table.match(path, method);
+        return rule.open() || rule.permits(roles);
+    }
+
+    @Test
+    void openEndpointsNeedNoToken() {
+        assertTrue(table.match("/api/auth/login", HttpMethod.POST).open());
+        assertTrue(table.match("/api/auth/register", HttpMethod.POST).open());
+        assertTrue(table.match("/eureka/apps/BOOKING-SERVICE", HttpMethod.GET).open());
+        assertFalse(table.match("/api/auth/me", HttpMethod.GET).open());
+    }
+
+    @Test
+    void unlistedPathsNeedOnlyAToken() {
+        assertEquals(RouteAuthorizationTable.AUTHENTICATED, table.match("/api/bookings/user/7", HttpMethod.GET));
+        assertTrue(allowed(HttpMethod.GET, "/api/stations/12", DRIVER));
+    }
+
+    @Test
+    void adminOnlyPathsRejectOtherRoles() {
+        List<String> adminPaths = List.of(
+                "/api/admin/users",
+                "/api/auth/admin/users/5/roles",
+                "/api/auth/stats",
+                "/api/bookings/admin/export",
+                "/api/bookings/admin/earnings/rebuild",
+                "/api/stations/unapproved",
+                "/api/stations/stats");
+        for (String path : adminPaths) {
+            for (HttpMethod method : List.of(HttpMethod.GET, HttpMethod.POST, HttpMethod.DELETE)) {
+                assertTrue(allowed(method, path, ADMIN), method + " " + path);
+                assertFalse(allowed(method, path, OWNER | DRIVER), method + " " + path);
+            }
+        }
+    }
+
+    @Test
+    void internalHooksAreRefusedForEveryRole() {
+        assertFalse(table.match("/api/bookings/cache/stations/3", HttpMethod.DELETE).open());
+        assertFalse(allowed(HttpMethod.DELETE, "/api/bookings/cache/stations/3", ADMIN | OWNER | DRIVER));
+        assertFalse(allowed(HttpMethod.GET, "/api/bookings/cache", ADMIN | OWNER | DRIVER));
+        assertFalse(allowed(HttpMethod.DELETE, "/api/stations/4/availability/cache", ADMIN | OWNER | DRIVER));
+    }
+
+    @Test
+    void wildcardSegmentsMatchAnyOneSegment() {
+        // the station availability itself stays readable; only its cache hook is refused
+        assertTrue(allowed(HttpMethod.GET, "/api/stations/4/availability", DRIVER));
+        assertTrue(allowed(HttpMethod.DELETE, "/api/stations/4/ports/2", OWNER));
+        assertFalse(allowed(HttpMethod.DELETE, "/api//stations/4/availability/cache/", ADMIN));
+        // a literal rule on the same level does not hide the wildcard one below it
+        assertFalse(allowed(HttpMethod.DELETE, "/api/stations/stats/availability/cache", ADMIN));
+    }
+
+    @Test
+    void ownersCannotApproveStations() {
+        assertFalse(allowed(HttpMethod.PUT, "/api/stations/update-status", OWNER));
+        assertTrue(allowed(HttpMethod.PUT, "/api/stations/update-status", ADMIN));
+    }
+
+    @Test
+    void stationWritesNeedOwnerOrAdmin() {
+        assertTrue(allowed(HttpMethod.POST, "/api/stations", OWNER));
+        assertTrue(allowed(HttpMethod.PUT, "/api/stations/4", ADMIN));
+        assertFalse(allowed(HttpMethod.DELETE, "/api/stations/4/ports/2", DRIVER));
+        assertTrue(allowed(HttpMethod.GET, "/api/stations/4", DRIVER));
+    }
+
+    @Test
+    void segmentsMatchWholeNotByPrefix() {
+        // "/api/administrators" is not under "/api/admin"
+        assertEquals(RouteAuthorizationTable.AUTHENTICATED, table.match("/api/administrators", HttpMethod.GET));
+        assertFalse(allowed(HttpMethod.GET, "/api/admin", DRIVER));
+        assertFalse(allowed(HttpMethod.GET, "/api/admin/", DRIVER));
+        assertFalse(allowed(HttpMethod.GET, "/api//admin/users", DRIVER));
+    }
+
+    @Test
+    void dotSegmentsAreDenied() {
+        assertEquals(RouteAuthorizationTable.DENY, table.match("/api/stations/../admin/users", HttpMethod.GET));
+        assertEquals(RouteAuthorizationTable.DENY, table.match("/api/./admin/users", HttpMethod.GET));
+        assertEquals(RouteAuthorizationTable.DENY, table.match("/api/auth/login/..", HttpMethod.POST));
+        assertFalse(allowed(HttpMethod.GET, "/api/stations/../admin/users", ADMIN | OWNER | DRIVER));
+    }
+
+    @Test
+    void matrixParametersAreDenied() {
+        assertEquals(RouteAuthorizationTable.DENY, table.match("/api/admin;x=1/users", HttpMethod.GET));
+        assertEquals(RouteAuthorizationTable.DENY, table.match("/api/auth/login;jsessionid=1", HttpMethod.POST));
+        assertFalse(allowed(HttpMethod.GET, "/api/bookings/admin;a=b/export", ADMIN));
+    }
+
+    @Test
+    void methodSpecificRulesFallBackToParentForOtherMethods() {
+        // the PUT-only rule on update-status does not apply to GET, which falls back to
+        // the station write rule (no match for GET) and then to token-only
+        assertEquals(RouteAuthorizationTable.AUTHENTICATED, table.match("/api/stations/update-status", HttpMethod.GET));
+    }
+
+    @Test
+    void rulePathsMustBeAbsolute() {
+        AuthorizationProperties properties = new AuthorizationProperties();
+        AuthorizationProperties.RuleDefinition definition = new AuthorizationProperties.RuleDefinition();
+        definition.setPath("api/admin/**");
+        properties.getRules().add(definition);
+        assertThrows(IllegalArgumentException.class, () -> new RouteAuthorizationTable(properties));
+    }
+}
@@ -0,0 +1,98 @@
+package com.charginhive.apigateway.util;
+
+import com.charginhive.apigateway.config.Role;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs256-signing";
+
+    private final SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxTtl", Duration.ofMinutes(5));
+        jwtUtil.init();
+    }
+
+    private String token(long userId, List<String> authorities, Instant expiresAt, SecretKey signingKey) {
+        return Jwts.builder()
+                .subject("user" + userId)
+                .claim("user_id", userId)
+                .claim("authorities", authorities)
+                .expiration(Date.from(expiresAt))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    @Test
+    void verifyReturnsUserIdAndRoleMask() {
+        Instant exp = Instant.now().plusSeconds(600);
+        JwtUtil.VerifiedToken verified = jwtUtil.verify(token(42, List.of("ROLE_OWNER", "SOMETHING_ELSE"), exp, key));
+
+        assertEquals(42L, verified.userId());
+        assertEquals(List.of("ROLE_OWNER", "SOMETHING_ELSE"), verified.authorities());
+        assertEquals(Role.ROLE_OWNER.bit(), verified.roles());
+        assertEquals(exp.getEpochSecond(), verified.expiresAt().getEpochSecond());
+    }
+
+    @Test
+    void repeatedTokenIsServedFromCache() {
+        String token = token(1, List.of("ROLE_DRIVER"), Instant.now().plusSeconds(600), key);
+        assertSame(jwtUtil.verify(token), jwtUtil.verify(token));
+    }
+
+    @Test
+    void differentTokensAreNotConfused() {
+        Instant exp = Instant.now().plusSeconds(600);
+        JwtUtil.VerifiedToken driver = jwtUtil.verify(token(1, List.of("ROLE_DRIVER"), exp, key));
+        JwtUtil.VerifiedToken admin = jwtUtil.verify(token(2, List.of("ROLE_ADMIN"), exp, key));
+
+        assertNotSame(driver, admin);
+        assertEquals(Role.ROLE_DRIVER.bit(), driver.roles());
+        assertEquals(Role.ROLE_ADMIN.bit(), admin.roles());
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        SecretKey otherKey = Keys.hmacShaKeyFor("another-secret-key-that-is-long-enough-for-hs256".getBytes());
+        String forged = token(1, List.of("ROLE_ADMIN"), Instant.now().plusSeconds(600), otherKey);
+        assertThrows(SignatureException.class, () -> jwtUtil.verify(forged));
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String expired = token(1, List.of("ROLE_DRIVER"), Instant.now().minusSeconds(5), key);
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.verify(expired));
+    }
+
+    @Test
+    void tamperedPayloadIsRejectedEvenAfterTheOriginalWasCached() {
+        String token = token(1, List.of("ROLE_DRIVER"), Instant.now().plusSeconds(600), key);
+        jwtUtil.verify(token);
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + parts[1] + "x." + parts[2];
+        assertThrows(Exception.class, () -> jwtUtil.verify(tampered));
+    }
+}
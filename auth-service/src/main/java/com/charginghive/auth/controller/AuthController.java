@@ -4,7 +4,6 @@ import com.charginghive.auth.dto.*;
 import com.charginghive.auth.dto.AdminUserCreateRequest;
 import com.charginghive.auth.dto.AdminUserUpdateRequest;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -15,6 +14,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import com.charginghive.auth.entity.UserRegistration;
+import com.charginghive.auth.mapper.UserMapper;
 import com.charginghive.auth.service.UserService;
 
 import lombok.AllArgsConstructor;
@@ -30,7 +31,6 @@ public class AuthController {
 
 	private final UserService userService;
 	private final AuthenticationManager authenticationManager;
-	private final ModelMapper modelMapper;
 
 	@PostMapping("/register")
 	public ResponseEntity<?> addNewUser(@RequestBody UserRegistrationReq credential){
@@ -52,7 +52,7 @@ public class AuthController {
 			Authentication authToken = new UsernamePasswordAuthenticationToken(signInReq.getEmail(), signInReq.getPassword());
 			Authentication validAuth = authenticationManager.authenticate(authToken);
 			AuthResponse authResponse = AuthResponse.builder()
-					.user(modelMapper.map(validAuth.getPrincipal(), UserResDto.class))
+					.user(UserMapper.toResDto((UserRegistration) validAuth.getPrincipal()))
 					.token(userService.generateToken(validAuth))
 					.build();
 
@@ -71,6 +71,11 @@ public class AuthController {
 		return ResponseEntity.status(HttpStatus.OK).body(userService.getAllUsers());
 	}
 
+	@GetMapping("/stats")
+	public ResponseEntity<UserStatsDto> getUserStats(){
+		return ResponseEntity.ok(userService.getUserStats());
+	}
+
 	@PutMapping("/edit-user")
 	public ResponseEntity<?> editUser(@RequestBody UserEditDto credential, @RequestHeader("X-User-Id") Long userId){
 		log.info("update user details: {}", credential);
@@ -0,0 +1,15 @@
+package com.charginghive.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserStatsDto {
+    // non-admin users, same population as /auth/get-all
+    private long totalUsers;
+    private long drivers;
+    private long owners;
+}
@@ -15,7 +15,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "Users")
+@Table(name = "Users", indexes = @Index(name = "idx_users_role", columnList = "userRole"))
 public class UserRegistration implements UserDetails {
 
 	@Id
@@ -0,0 +1,30 @@
+package com.charginghive.auth.mapper;
+
+import com.charginghive.auth.dto.UserDto;
+import com.charginghive.auth.dto.UserResDto;
+import com.charginghive.auth.entity.UserRegistration;
+
+/**
+ * Plain-Java UserRegistration to DTO mapping, used in place of reflective ModelMapper
+ * calls when users are returned.
+ */
+public final class UserMapper {
+
+	private UserMapper() {
+	}
+
+	public static UserResDto toResDto(UserRegistration user) {
+		return UserResDto.builder()
+				.id(user.getId())
+				.firstName(user.getFirstName())
+				.lastName(user.getLastName())
+				.email(user.getEmail())
+				.phoneNumber(user.getPhoneNumber())
+				.userRole(user.getUserRole())
+				.build();
+	}
+
+	public static UserDto toUserDto(UserRegistration user) {
+		return new UserDto(user.getId(), user.getFirstName(), user.getLastName(), user.getPhoneNumber(), user.getEmail());
+	}
+}
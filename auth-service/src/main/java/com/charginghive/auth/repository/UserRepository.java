@@ -5,10 +5,13 @@ import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.charginghive.auth.entity.UserRegistration;
+import com.charginghive.auth.entity.UserRole;
 
 
 public interface UserRepository extends JpaRepository<UserRegistration, Long> {
 
 	Optional<UserRegistration> findByEmail(String email);
 
+	long countByUserRole(UserRole userRole);
+
 }
@@ -5,6 +5,7 @@ import com.charginghive.auth.dto.*;
 import com.charginghive.auth.dto.AdminUserCreateRequest;
 import com.charginghive.auth.dto.AdminUserUpdateRequest;
 import com.charginghive.auth.entity.UserRole;
+import com.charginghive.auth.mapper.UserMapper;
 import org.modelmapper.ModelMapper;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -40,7 +41,7 @@ public class UserService {
 			credential.setPassword(passwordEncoder.encode(credential.getPassword()));
 			UserRegistration userEntity = modelMapper.map(credential, UserRegistration.class);
 			UserRegistration savedUser = repository.save(userEntity);
-			return modelMapper.map(savedUser, UserResDto.class);
+			return UserMapper.toResDto(savedUser);
 		} catch (Exception ex) {
 			System.out.println("Error occurred while registering user: " + ex.getMessage());
 			throw new RuntimeException("User registration failed");
@@ -70,6 +71,16 @@ public class UserService {
 		return list;
 	}
 
+	/**
+	 * User counts for the admin dashboard, computed with COUNT queries
+	 */
+	@Transactional(readOnly = true)
+	public UserStatsDto getUserStats() {
+		long drivers = repository.countByUserRole(UserRole.ROLE_DRIVER);
+		long owners = repository.countByUserRole(UserRole.ROLE_OWNER);
+		return new UserStatsDto(drivers + owners, drivers, owners);
+	}
+
 	public String editUserDetails(UserEditDto credential, Long id) {
 		String msg = "User update failed!";
 		try {
@@ -106,18 +117,11 @@ public class UserService {
 
 	public UserResDto getById(Long id) {
 		UserRegistration user = repository.findById(id).orElseThrow(() -> new NotFoundException("User not found with ID: " + id)); // edited
-		return modelMapper.map(user, UserResDto.class);
+		return UserMapper.toResDto(user);
 	}
 
 	public UserResDto mapToDto(UserRegistration user) {
-		return UserResDto.builder()
-				.email(user.getEmail())
-				.id(user.getId())
-				.firstName(user.getFirstName())
-                .phoneNumber(user.getPhoneNumber())
-				.lastName(user.getLastName())
-				.userRole(user.getUserRole())
-				.build();
+		return UserMapper.toResDto(user);
 	}
 
 	// ================== Admin operations (used by Admin service) ==================
@@ -136,7 +140,7 @@ public class UserService {
 		}
 		user.setUserRole(role);
 		UserRegistration saved = repository.save(user);
-		return modelMapper.map(saved, UserDto.class);
+		return UserMapper.toUserDto(saved);
 	}
 
 	// admin update user with optional fields
@@ -153,7 +157,7 @@ public class UserService {
 			try { user.setUserRole(req.getUserRole()); } catch (IllegalArgumentException ignored) {}
 		}
 		UserRegistration saved = repository.save(user);
-		return modelMapper.map(saved, UserDto.class);
+		return UserMapper.toUserDto(saved);
 	}
 
 	// admin delete user
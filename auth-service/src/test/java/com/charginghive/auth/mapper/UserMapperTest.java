@@ -0,0 +1,78 @@
+package com.charginghive.auth.mapper;
+
+import com.charginghive.auth.dto.UserDto;
+import com.charginghive.auth.dto.UserResDto;
+import com.charginghive.auth.entity.UserRegistration;
+import com.charginghive.auth.entity.UserRole;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.Conditions;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class UserMapperTest {
+
+	private final ObjectMapper json = new ObjectMapper();
+
+	// configured like the modelMapper bean in AuthServiceApplication
+	private static ModelMapper modelMapper() {
+		ModelMapper mapper = new ModelMapper();
+		mapper.getConfiguration()
+				.setMatchingStrategy(MatchingStrategies.STRICT)
+				.setPropertyCondition(Conditions.isNotNull());
+		return mapper;
+	}
+
+	private static UserRegistration user() {
+		return UserRegistration.builder()
+				.id(12L)
+				.firstName("Asha")
+				.lastName("Rao")
+				.phoneNumber("+919876543210")
+				.email("asha@example.com")
+				.password("$2a$10$hash")
+				.userRole(UserRole.ROLE_OWNER)
+				.build();
+	}
+
+	@Test
+	void resDtoProducesTheSameJsonAsModelMapper() throws Exception {
+		UserRegistration user = user();
+
+		String expected = json.writeValueAsString(modelMapper().map(user, UserResDto.class));
+		String actual = json.writeValueAsString(UserMapper.toResDto(user));
+
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	void userDtoProducesTheSameJsonAsModelMapper() throws Exception {
+		UserRegistration user = user();
+
+		String expected = json.writeValueAsString(modelMapper().map(user, UserDto.class));
+		String actual = json.writeValueAsString(UserMapper.toUserDto(user));
+
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	void nullPropertiesMatchModelMapper() throws Exception {
+		UserRegistration user = new UserRegistration();
+		user.setId(3L);
+		user.setEmail("owner@example.com");
+
+		assertEquals(json.writeValueAsString(modelMapper().map(user, UserResDto.class)),
+				json.writeValueAsString(UserMapper.toResDto(user)));
+		assertEquals(json.writeValueAsString(modelMapper().map(user, UserDto.class)),
+				json.writeValueAsString(UserMapper.toUserDto(user)));
+	}
+
+	@Test
+	void neverExposesThePassword() throws Exception {
+		assertFalse(json.writeValueAsString(UserMapper.toResDto(user())).contains("hash"));
+		assertFalse(json.writeValueAsString(UserMapper.toUserDto(user())).contains("hash"));
+	}
+}
@@ -0,0 +1,40 @@
+package com.charginghive.booking.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the bookings_seq counter past the ids already in bookings. Rows written while the
+ * table still used AUTO_INCREMENT ids would otherwise collide with the first pooled
+ * blocks. Runs after Hibernate has created the counter table, and is a no-op once the
+ * counter is ahead.
+ */
+@Component
+@Slf4j
+@DependsOn("entityManagerFactory")
+public class IdSequenceInitializer {
+
+    // must match allocationSize of the entity's @SequenceGenerator
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignWithExistingIds() {
+        // the pooled optimizer may hand out ids up to ALLOCATION_SIZE below the stored value
+        int updated = jdbcTemplate.update(
+                "UPDATE bookings_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + ? + 1 FROM bookings) " +
+                "WHERE next_val < (SELECT COALESCE(MAX(id), 0) + ? + 1 FROM bookings)",
+                ALLOCATION_SIZE, ALLOCATION_SIZE);
+        if (updated > 0) {
+            log.info("Moved bookings_seq past the existing bookings ids");
+        }
+    }
+}
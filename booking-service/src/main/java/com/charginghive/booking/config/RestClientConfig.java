@@ -1,10 +1,17 @@
 package com.charginghive.booking.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestClient;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 @Configuration
 public class RestClientConfig {
 
@@ -18,6 +25,35 @@ public class RestClientConfig {
         return RestClient.builder();
     }
 
+    // runs independent downstream calls side by side (see ExternalService); when the queue
+    // is full the caller runs the call itself rather than failing the request
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor downstreamExecutor(
+            @Value("${booking.clients.executor.core-size:16}") int coreSize,
+            @Value("${booking.clients.executor.max-size:64}") int maxSize,
+            @Value("${booking.clients.executor.queue-capacity:256}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("downstream-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    // virtual-thread mode: one virtual thread per call, with a cap on calls in flight
+    // so a burst cannot flood the other services
+    @Bean(name = "downstreamExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualDownstreamExecutor(
+            @Value("${booking.clients.executor.virtual-concurrency-limit:1000}") int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("downstream-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        return executor;
+    }
+
 //    @Bean("userRestClient")
 //    public RestClient userRestClient() {
 //        return RestClient.builder()
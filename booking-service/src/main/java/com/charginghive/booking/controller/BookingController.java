@@ -1,9 +1,15 @@
 package com.charginghive.booking.controller;
 
+import com.charginghive.booking.dto.BatchBookingRequestDto;
+import com.charginghive.booking.dto.BatchBookingResponseDto;
+import com.charginghive.booking.dto.BookingCursor;
 import com.charginghive.booking.dto.BookingRequestDto;
 import com.charginghive.booking.dto.BookingResponseDto;
+import com.charginghive.booking.dto.BookingStatisticsDto;
 import com.charginghive.booking.dto.BookingUpdateDto;
 import com.charginghive.booking.dto.EarningResponseDto;
+import com.charginghive.booking.dto.StationEarningDto;
+import com.charginghive.booking.dto.TimeSlotDto;
 import com.charginghive.booking.entity.Status;
 import com.charginghive.booking.service.BookingService;
 import jakarta.validation.Valid;
@@ -11,12 +17,16 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/bookings")
@@ -27,6 +37,10 @@ public class BookingController {
 
     private final BookingService bookingService;
 
+    private static final String NDJSON = "application/x-ndjson";
+    // cursor for the next page of a list endpoint; absent on the last page
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     /**
      * Create a new booking
      */
@@ -37,6 +51,18 @@ public class BookingController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Create several bookings at once (fleet operators); per-item results in request order
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchBookingResponseDto> createBookings(@RequestHeader("X-User-Id") Long id,
+                                                                  @Valid @RequestBody BatchBookingRequestDto requestDto) {
+        log.info("Creating batch of bookings for user: {}", id);
+        BatchBookingResponseDto response = bookingService.createBookings(requestDto, id);
+        HttpStatus status = response.getBooked() > 0 ? HttpStatus.CREATED : HttpStatus.UNPROCESSABLE_ENTITY;
+        return ResponseEntity.status(status).body(response);
+    }
+
     /**
      * Get booking by ID
      */
@@ -51,10 +77,13 @@ public class BookingController {
      * Get all bookings for a user
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<BookingResponseDto>> getUserBookings(@PathVariable Long userId) {
+    public ResponseEntity<List<BookingResponseDto>> getUserBookings(@PathVariable Long userId,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(defaultValue = "50") int size) {
         log.info("Fetching all bookings for user: {}", userId);
-        List<BookingResponseDto> response = bookingService.getUserBookings(userId);
-        return ResponseEntity.ok(response);
+        int limit = BookingCursor.clampSize(size);
+        List<BookingResponseDto> response = bookingService.getUserBookings(userId, BookingCursor.parse(cursor), limit);
+        return page(response, limit);
     }
 
     /**
@@ -62,20 +91,25 @@ public class BookingController {
      * can be accessed by admin and owner only
      */
     @GetMapping("/station/{stationId}")
-    public ResponseEntity<List<BookingResponseDto>> getStationBookings(@PathVariable Long stationId) {
+    public ResponseEntity<List<BookingResponseDto>> getStationBookings(@PathVariable Long stationId,
+                                                                       @RequestParam(required = false) String cursor,
+                                                                       @RequestParam(defaultValue = "50") int size) {
         log.info("Fetching all bookings for station: {}", stationId);
-        List<BookingResponseDto> response = bookingService.getStationBookings(stationId);
-        return ResponseEntity.ok(response);
+        int limit = BookingCursor.clampSize(size);
+        List<BookingResponseDto> response = bookingService.getStationBookings(stationId, BookingCursor.parse(cursor), limit);
+        return page(response, limit);
     }
 
     /**
      * Get all bookings (admin only)
      */
     @GetMapping
-    public ResponseEntity<List<BookingResponseDto>> getAllBookings() {
+    public ResponseEntity<List<BookingResponseDto>> getAllBookings(@RequestParam(required = false) String cursor,
+                                                                   @RequestParam(defaultValue = "50") int size) {
         log.info("Fetching all bookings");
-        List<BookingResponseDto> response = bookingService.getAllBookings();
-        return ResponseEntity.ok(response);
+        int limit = BookingCursor.clampSize(size);
+        List<BookingResponseDto> response = bookingService.getAllBookings(BookingCursor.parse(cursor), limit);
+        return page(response, limit);
     }
 
     /**
@@ -83,20 +117,25 @@ public class BookingController {
      *
      */
     @GetMapping("/admin/status/{status}")
-    public ResponseEntity<List<BookingResponseDto>> getBookingsByStatus(@PathVariable Status status) {
+    public ResponseEntity<List<BookingResponseDto>> getBookingsByStatus(@PathVariable Status status,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(defaultValue = "50") int size) {
         log.info("Fetching bookings with status: {}", status);
-        List<BookingResponseDto> response = bookingService.getBookingsByStatus(status);
-        return ResponseEntity.ok(response);
+        int limit = BookingCursor.clampSize(size);
+        List<BookingResponseDto> response = bookingService.getBookingsByStatus(status, BookingCursor.parse(cursor), limit);
+        return page(response, limit);
     }
 
     /**
      * Get active bookings
      */
     @GetMapping("/admin/active")
-    public ResponseEntity<List<BookingResponseDto>> getActiveBookings() {
+    public ResponseEntity<List<BookingResponseDto>> getActiveBookings(@RequestParam(required = false) String cursor,
+                                                                      @RequestParam(defaultValue = "50") int size) {
         log.info("Fetching active bookings");
-        List<BookingResponseDto> response = bookingService.getActiveBookings();
-        return ResponseEntity.ok(response);
+        int limit = BookingCursor.clampSize(size);
+        List<BookingResponseDto> response = bookingService.getActiveBookings(BookingCursor.parse(cursor), limit);
+        return page(response, limit);
     }
 
     /**
@@ -135,20 +174,26 @@ public class BookingController {
      * Get upcoming bookings for a user
      */
     @GetMapping("/user/{userId}/upcoming")
-    public ResponseEntity<List<BookingResponseDto>> getUpcomingUserBookings(@PathVariable Long userId) {
+    public ResponseEntity<List<BookingResponseDto>> getUpcomingUserBookings(@PathVariable Long userId,
+                                                                            @RequestParam(required = false) String cursor,
+                                                                            @RequestParam(defaultValue = "50") int size) {
         log.info("Fetching upcoming bookings for user: {}", userId);
-        List<BookingResponseDto> response = bookingService.getUpcomingUserBookings(userId);
-        return ResponseEntity.ok(response);
+        int limit = BookingCursor.clampSize(size);
+        List<BookingResponseDto> response = bookingService.getUpcomingUserBookings(userId, BookingCursor.parse(cursor), limit);
+        return page(response, limit);
     }
 
     /**
      * Get completed bookings for a user
      */
     @GetMapping("/user/{userId}/completed")
-    public ResponseEntity<List<BookingResponseDto>> getCompletedUserBookings(@PathVariable Long userId) {
+    public ResponseEntity<List<BookingResponseDto>> getCompletedUserBookings(@PathVariable Long userId,
+                                                                             @RequestParam(required = false) String cursor,
+                                                                             @RequestParam(defaultValue = "50") int size) {
         log.info("Fetching completed bookings for user: {}", userId);
-        List<BookingResponseDto> response = bookingService.getCompletedUserBookings(userId);
-        return ResponseEntity.ok(response);
+        int limit = BookingCursor.clampSize(size);
+        List<BookingResponseDto> response = bookingService.getCompletedUserBookings(userId, BookingCursor.parse(cursor), limit);
+        return page(response, limit);
     }
 
     /**
@@ -157,10 +202,40 @@ public class BookingController {
     @GetMapping("/admin/date-range")
     public ResponseEntity<List<BookingResponseDto>> getBookingsInDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
         log.info("Fetching bookings between {} and {}", startDate, endDate);
-        List<BookingResponseDto> response = bookingService.getBookingsInDateRange(startDate, endDate);
-        return ResponseEntity.ok(response);
+        int limit = BookingCursor.clampSize(size);
+        List<BookingResponseDto> response = bookingService.getBookingsInDateRange(startDate, endDate,
+                BookingCursor.parse(cursor), limit);
+        return page(response, limit);
+    }
+
+    /**
+     * Booking counts per status (admin only); groupBy=day|station adds a breakdown for
+     * bookings starting in [from, to), defaulting to the last 30 days
+     */
+    @GetMapping("/admin/statistics")
+    public ResponseEntity<BookingStatisticsDto> getBookingStatistics(
+            @RequestParam(required = false) String groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Fetching booking statistics grouped by {} between {} and {}", groupBy, from, to);
+        return ResponseEntity.ok(bookingService.getBookingStatistics(groupBy, from, to));
+    }
+
+    /**
+     * Export bookings as newline-delimited JSON (admin only), streamed without loading the table
+     */
+    @GetMapping(value = "/admin/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        log.info("Exporting bookings with status {} between {} and {}", status, startDate, endDate);
+        StreamingResponseBody body = out -> bookingService.exportBookings(status, startDate, endDate, out);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
     }
 
     /**
@@ -170,10 +245,14 @@ public class BookingController {
     public ResponseEntity<List<BookingResponseDto>> getUserBookingsInDateRange(
             @PathVariable Long userId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
         log.info("Fetching bookings for user {} between {} and {}", userId, startDate, endDate);
-        List<BookingResponseDto> response = bookingService.getUserBookingsInDateRange(userId, startDate, endDate);
-        return ResponseEntity.ok(response);
+        int limit = BookingCursor.clampSize(size);
+        List<BookingResponseDto> response = bookingService.getUserBookingsInDateRange(userId, startDate, endDate,
+                BookingCursor.parse(cursor), limit);
+        return page(response, limit);
     }
 
     /**
@@ -189,6 +268,30 @@ public class BookingController {
         return ResponseEntity.ok(isAvailable);
     }
 
+    /**
+     * Get free intervals of a port within a time range
+     */
+    @GetMapping("/port/{portId}/free-slots")
+    public ResponseEntity<List<TimeSlotDto>> getFreeSlots(
+            @PathVariable Long portId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+        log.info("Fetching free slots for port {} between {} and {}", portId, startTime, endTime);
+        return ResponseEntity.ok(bookingService.getFreeSlots(portId, startTime, endTime));
+    }
+
+    /**
+     * Get booked intervals for several ports (comma separated ids) - required by station service
+     */
+    @GetMapping("/port/{portIds}/intervals")
+    public ResponseEntity<Map<Long, List<TimeSlotDto>>> getBookedIntervals(
+            @PathVariable List<Long> portIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+        log.info("Fetching booked intervals for ports {} between {} and {}", portIds, startTime, endTime);
+        return ResponseEntity.ok(bookingService.getBookedIntervals(portIds, startTime, endTime));
+    }
+
     /*
     * Get all Booking with payment for a particular user
     */
@@ -205,8 +308,53 @@ public class BookingController {
      */
 
     @GetMapping("/admin/earnings/{stationId}")
-    public ResponseEntity<EarningResponseDto> getTotalEaringinsForAStation(@PathVariable Long stationId){
-        log.info("fetching all bookings froma station and calculating totl earning!");
-        return ResponseEntity.ok(bookingService.getTotalEarningForAStationById(stationId));
+    public ResponseEntity<EarningResponseDto> getTotalEaringinsForAStation(
+            @PathVariable Long stationId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to){
+        log.info("Fetching earnings of station {} between {} and {}", stationId, from, to);
+        return ResponseEntity.ok(bookingService.getTotalEarningForAStationById(stationId, from, to));
+    }
+
+    /*
+    * per-day earnings of a station from the earnings ledger, both dates inclusive
+     */
+
+    @GetMapping("/admin/earnings/{stationId}/daily")
+    public ResponseEntity<List<StationEarningDto>> getDailyEarnings(
+            @PathVariable Long stationId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to){
+        return ResponseEntity.ok(bookingService.getDailyEarnings(stationId, from, to));
+    }
+
+    /*
+    * recompute the earnings ledger from the bookings table (backfill / repair)
+     */
+
+    @PostMapping("/admin/earnings/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildEarnings(){
+        log.info("Rebuilding earnings ledger");
+        return ResponseEntity.ok(Map.of("stationDays", bookingService.rebuildEarningsLedger()));
+    }
+
+    /*
+    * evict cached station/port info for a station
+    * called by station service whenever a station or one of its ports changes
+     */
+
+    @DeleteMapping("/cache/stations/{stationId}")
+    public ResponseEntity<Void> evictStationCache(@PathVariable Long stationId){
+        log.info("Evicting cached station info for station: {}", stationId);
+        bookingService.evictStationCache(stationId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private ResponseEntity<List<BookingResponseDto>> page(List<BookingResponseDto> page, int size) {
+        String nextCursor = BookingCursor.next(page, size);
+        if (nextCursor == null) {
+            return ResponseEntity.ok(page);
+        }
+        return ResponseEntity.ok().header(NEXT_CURSOR_HEADER, nextCursor).body(page);
     }
 }
@@ -0,0 +1,32 @@
+package com.charginghive.booking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Several bookings for one user, e.g. a fleet operator booking ports for many vehicles.
+ * Items are checked one by one and reported by their position in the list.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingRequestDto {
+
+    public enum Mode {
+        // nothing is booked unless every item can be booked
+        ALL_OR_NOTHING,
+        // the valid items are booked, the others are reported as failed
+        BEST_EFFORT
+    }
+
+    @NotEmpty(message = "At least one booking is required")
+    @Size(max = 100, message = "At most 100 bookings per batch")
+    private List<BookingRequestDto> bookings;
+
+    private Mode mode = Mode.ALL_OR_NOTHING;
+}
@@ -0,0 +1,29 @@
+package com.charginghive.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingResponseDto {
+    private BatchBookingRequestDto.Mode mode;
+    private int requested;
+    private int booked;
+    private int failed;
+    // one result per requested item, in request order
+    private List<ItemResult> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private int index;
+        private boolean success;
+        private BookingResponseDto booking;
+        private String error;
+    }
+}
@@ -0,0 +1,48 @@
+package com.charginghive.booking.dto;
+
+import com.charginghive.booking.exception.BookingException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Position in a booking list ordered by (createdAt, id) descending.
+ * Sent to clients as "createdAt_id", e.g. "2024-01-15T10:00:00_42".
+ */
+public record BookingCursor(LocalDateTime createdAt, Long id) {
+
+    private static final String SEPARATOR = "_";
+    private static final int MAX_PAGE_SIZE = 200;
+
+    /**
+     * Requested page size bounded to [1, MAX_PAGE_SIZE]
+     */
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    public static BookingCursor parse(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        int split = cursor.lastIndexOf(SEPARATOR);
+        try {
+            return new BookingCursor(LocalDateTime.parse(cursor.substring(0, split)),
+                    Long.parseLong(cursor.substring(split + 1)));
+        } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException e) {
+            throw new BookingException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Cursor for the page after this one, or null when this was the last page
+     */
+    public static String next(List<BookingResponseDto> page, int size) {
+        if (page.isEmpty() || page.size() < size) {
+            return null;
+        }
+        BookingResponseDto last = page.get(page.size() - 1);
+        return last.getCreatedAt() + SEPARATOR + last.getId();
+    }
+}
@@ -0,0 +1,38 @@
+package com.charginghive.booking.dto;
+
+import com.charginghive.booking.entity.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingStatisticsDto {
+
+    private long totalBookings;
+    // BOOKED bookings, named as on the admin dashboard
+    private long activeBookings;
+    private long completedBookings;
+    private long cancelledBookings;
+    private Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+
+    // only filled when a breakdown (day or station) was requested
+    private String groupBy;
+    private List<Bucket> buckets = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        // ISO date for day buckets, station id for station buckets
+        private String key;
+        private long total;
+        private Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+    }
+}
@@ -12,7 +12,10 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class EarningResponseDto {
 
+    // revenue of bookings still BOOKED
     private double totalEarning;
+    // revenue of bookings already COMPLETED
+    private double completedEarning;
 //    private int totalBookings;
 
 }
@@ -0,0 +1,18 @@
+package com.charginghive.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StationEarningDto {
+    private LocalDate date;
+    private double bookedAmount;
+    private long bookedCount;
+    private double completedAmount;
+    private long completedCount;
+}
@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,6 +20,7 @@ public class StationInfoDto {
     private Double longitude;
     private boolean isApproved;
     private Long ownerId;
+    private List<PortInfo> ports;
     
     @Data
     @NoArgsConstructor
@@ -7,6 +7,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -15,12 +16,27 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
-@Table(name = "bookings")
+// each index backs a BookingRepository / BookingSpecifications access path; id trails the
+// createdAt indexes so keyset pages (createdAt, id) are read straight off the index
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_port_status_time", columnList = "portId, status, startTime, endTime"),
+        @Index(name = "idx_bookings_status_end", columnList = "status, endTime"),
+        @Index(name = "idx_bookings_user_created", columnList = "userId, createdAt, id"),
+        @Index(name = "idx_bookings_station_created", columnList = "stationId, createdAt, id"),
+        @Index(name = "idx_bookings_station_status", columnList = "stationId, status"),
+        @Index(name = "idx_bookings_status_created", columnList = "status, createdAt, id"),
+        @Index(name = "idx_bookings_created", columnList = "createdAt, id"),
+        @Index(name = "idx_bookings_start", columnList = "startTime"),
+        @Index(name = "idx_bookings_updated_at", columnList = "updatedAt")
+})
 @Builder
 public class Booking {
 
+    // ids are handed out in blocks of 50 so inserts can be sent as JDBC batches; MySQL has no
+    // sequences, so Hibernate keeps the counter in a bookings_seq table (see IdSequenceInitializer)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     private Long userId;
@@ -36,6 +52,9 @@ public class Booking {
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
+    // lets each replica find bookings written by the others (see PortAvailabilityIndex)
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 
     public int getDuration() {
         if (startTime != null && endTime != null) {
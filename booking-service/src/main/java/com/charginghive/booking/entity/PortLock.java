@@ -0,0 +1,27 @@
+package com.charginghive.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row per port, write-locked by every transaction that books or moves a booking on
+ * that port. Bookings on the same port are serialized across replicas while different
+ * ports never wait on each other. The row is created on first use.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Table(name = "port_locks")
+public class PortLock {
+
+    @Id
+    @Column(name = "port_id")
+    private Long portId;
+
+    // number of times the lock was taken, only bumped so the upsert always writes the row
+    @Column(name = "claims", nullable = false)
+    private long claims;
+}
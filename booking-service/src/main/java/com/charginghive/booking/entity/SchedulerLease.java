@@ -0,0 +1,28 @@
+package com.charginghive.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row lock for scheduled jobs that must run on only one booking-service replica at a time.
+ * A node owns the job while lockedUntil is in the future.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Table(name = "scheduler_leases")
+public class SchedulerLease {
+
+    @Id
+    private String name;
+
+    private String owner;
+
+    @Column(nullable = false)
+    private LocalDateTime lockedUntil;
+}
@@ -0,0 +1,30 @@
+package com.charginghive.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-station, per-day rollup of booking revenue, kept in step with the bookings table
+ * by EarningsLedgerService so earnings queries read one row per day instead of
+ * summing bookings.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Table(name = "station_earnings")
+public class StationEarning {
+
+    @EmbeddedId
+    private StationEarningId id;
+
+    // bookings currently BOOKED
+    private double bookedAmount;
+    private long bookedCount;
+
+    // bookings COMPLETED
+    private double completedAmount;
+    private long completedCount;
+}
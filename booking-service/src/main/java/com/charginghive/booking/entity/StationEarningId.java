@@ -0,0 +1,19 @@
+package com.charginghive.booking.entity;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StationEarningId implements Serializable {
+    private Long stationId;
+    // day the booked session starts
+    private LocalDate earningDate;
+}
@@ -0,0 +1,30 @@
+package com.charginghive.booking.mapper;
+
+import com.charginghive.booking.dto.BookingResponseDto;
+import com.charginghive.booking.entity.Booking;
+
+/**
+ * Plain-Java Booking to BookingResponseDto mapping, used in place of reflective
+ * ModelMapper calls on list and export paths. Station and port details are filled in
+ * by BookingService.
+ */
+public final class BookingMapper {
+
+    private BookingMapper() {
+    }
+
+    public static BookingResponseDto toResponseDto(Booking booking) {
+        BookingResponseDto dto = new BookingResponseDto();
+        dto.setId(booking.getId());
+        dto.setUserId(booking.getUserId());
+        dto.setStationId(booking.getStationId());
+        dto.setPortId(booking.getPortId());
+        dto.setStartTime(booking.getStartTime());
+        dto.setEndTime(booking.getEndTime());
+        dto.setDuration(booking.getDuration());
+        dto.setTotalCost(booking.getTotalCost());
+        dto.setStatus(booking.getStatus());
+        dto.setCreatedAt(booking.getCreatedAt());
+        return dto;
+    }
+}
@@ -3,17 +3,28 @@ package com.charginghive.booking.repository;
 import com.charginghive.booking.dto.EarningResponseDto;
 import com.charginghive.booking.entity.Booking;
 import com.charginghive.booking.entity.Status;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking> {
     
     // Find all bookings for a specific user
     List<Booking> findByUserIdOrderByCreatedAtDesc(Long userId);
@@ -29,10 +40,6 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     // Find bookings by status
     List<Booking> findByStatusOrderByCreatedAtDesc(Status status);
     
-    // Find active bookings (not cancelled or completed)
-    @Query("SELECT b FROM Booking b WHERE b.status IN ('BOOKED') ORDER BY b.createdAt DESC")
-    List<Booking> findActiveBookings();
-    
     // Find bookings for a specific user and status
     List<Booking> findByUserIdAndStatusOrderByCreatedAtDesc(Long userId, Status status);
     
@@ -49,6 +56,28 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                         @Param("startTime") LocalDateTime startTime, 
                         @Param("endTime") LocalDateTime endTime);
     
+    // BOOKED bookings on a port overlapping [startTime, endTime), other than excludeId.
+    // A locking read, so under REPEATABLE READ it sees bookings committed after the
+    // transaction's snapshot; run it while holding the port lock.
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT b FROM Booking b WHERE b.portId = :portId AND b.status = 'BOOKED' " +
+           "AND b.startTime < :endTime AND b.endTime > :startTime " +
+           "AND (:excludeId IS NULL OR b.id <> :excludeId)")
+    List<Booking> findConflictsLocked(@Param("portId") Long portId,
+                                      @Param("startTime") LocalDateTime startTime,
+                                      @Param("endTime") LocalDateTime endTime,
+                                      @Param("excludeId") Long excludeId,
+                                      Limit limit);
+
+    // Locking-read variant of findBookedOnPortsBetween for batch bookings; run it while holding the ports' locks
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT b FROM Booking b WHERE b.portId IN :portIds " +
+           "AND b.status = 'BOOKED' " +
+           "AND b.startTime < :endTime AND b.endTime > :startTime")
+    List<Booking> findBookedOnPortsBetweenLocked(@Param("portIds") Collection<Long> portIds,
+                                                 @Param("startTime") LocalDateTime startTime,
+                                                 @Param("endTime") LocalDateTime endTime);
+
     // Find overlapping bookings for a port
     @Query("SELECT b FROM Booking b WHERE b.portId = :portId " +
            "AND b.status IN ('BOOKED') " +
@@ -59,33 +88,21 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                          @Param("startTime") LocalDateTime startTime, 
                                          @Param("endTime") LocalDateTime endTime);
     
+    // Find BOOKED bookings on any of the given ports that overlap a time range
+    @Query("SELECT b FROM Booking b WHERE b.portId IN :portIds " +
+           "AND b.status = 'BOOKED' " +
+           "AND b.startTime < :endTime AND b.endTime > :startTime " +
+           "ORDER BY b.startTime")
+    List<Booking> findBookedOnPortsBetween(@Param("portIds") Collection<Long> portIds,
+                                           @Param("startTime") LocalDateTime startTime,
+                                           @Param("endTime") LocalDateTime endTime);
+
     // Find bookings within a date range
     @Query("SELECT b FROM Booking b WHERE b.startTime >= :startDate AND b.startTime <= :endDate " +
            "ORDER BY b.startTime")
     List<Booking> findBookingsInDateRange(@Param("startDate") LocalDateTime startDate, 
                                          @Param("endDate") LocalDateTime endDate);
     
-    // Find bookings for a user within a date range
-    @Query("SELECT b FROM Booking b WHERE b.userId = :userId " +
-           "AND b.startTime >= :startDate AND b.startTime <= :endDate " +
-           "ORDER BY b.startTime")
-    List<Booking> findUserBookingsInDateRange(@Param("userId") Long userId,
-                                             @Param("startDate") LocalDateTime startDate, 
-                                             @Param("endDate") LocalDateTime endDate);
-    
-    // Find upcoming bookings for a user
-    @Query("SELECT b FROM Booking b WHERE b.userId = :userId " +
-           "AND b.startTime >= :now AND b.status = 'BOOKED' " +
-           "ORDER BY b.startTime")
-    List<Booking> findUpcomingUserBookings(@Param("userId") Long userId, 
-                                          @Param("now") LocalDateTime now);
-    
-    // Find completed bookings for a user
-    @Query("SELECT b FROM Booking b WHERE b.userId = :userId " +
-           "AND b.status = 'COMPLETED' " +
-           "ORDER BY b.endTime DESC")
-    List<Booking> findCompletedUserBookings(@Param("userId") Long userId);
-    
     // Count total bookings for a user
     long countByUserId(Long userId);
     
@@ -98,9 +115,63 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     // Count bookings by status for a station
     long countByStationIdAndStatus(Long stationId, Status status);
 
-    List<Booking> findByStatusAndEndTimeBefore(Status status, LocalDateTime now);
+    // BOOKED bookings that already ended, oldest first and locked; the expiry sweep works through them in batches
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.status = 'BOOKED' AND b.endTime < :now ORDER BY b.endTime, b.id")
+    List<Booking> findExpiredBookedForUpdate(@Param("now") LocalDateTime now, Limit limit);
+
+    // Bulk status change without loading entities; the status guard keeps concurrent cancels intact.
+    // Bulk updates skip @UpdateTimestamp, so updatedAt is set here.
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :to, b.updatedAt = :now WHERE b.id IN :ids AND b.status = :from")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids,
+                          @Param("from") Status from,
+                          @Param("to") Status to,
+                          @Param("now") LocalDateTime now);
+
+    // BOOKED bookings that have not ended yet, for loading PortAvailabilityIndex
+    List<Booking> findByStatusAndEndTimeAfter(Status status, LocalDateTime now);
+
+    // bookings written at or after a point in time, served from idx_bookings_updated_at
+    List<Booking> findByUpdatedAtGreaterThanEqual(LocalDateTime since);
+
+    // Stream bookings for exports; Integer.MIN_VALUE makes MySQL Connector/J stream rows
+    // one by one instead of buffering the whole result set
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT b FROM Booking b WHERE (:status IS NULL OR b.status = :status) " +
+           "AND (:startDate IS NULL OR b.startTime >= :startDate) " +
+           "AND (:endDate IS NULL OR b.startTime <= :endDate) " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    Stream<Booking> streamForExport(@Param("status") Status status,
+                                    @Param("startDate") LocalDateTime startDate,
+                                    @Param("endDate") LocalDateTime endDate);
+
+    // Booking counts per status in a single GROUP BY
+    @Query("SELECT b.status AS status, COUNT(b) AS count FROM Booking b GROUP BY b.status")
+    List<StatusCount> countByStatus();
+
+    // Counts per start day and status for bookings starting in [from, to)
+    @Query("SELECT CAST(b.startTime AS LocalDate) AS bucket, b.status AS status, COUNT(b) AS count " +
+           "FROM Booking b WHERE b.startTime >= :from AND b.startTime < :to " +
+           "GROUP BY CAST(b.startTime AS LocalDate), b.status")
+    List<BucketStatusCount> countByDayAndStatus(@Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to);
+
+    // Counts per station and status for bookings starting in [from, to)
+    @Query("SELECT b.stationId AS bucket, b.status AS status, COUNT(b) AS count " +
+           "FROM Booking b WHERE b.startTime >= :from AND b.startTime < :to " +
+           "GROUP BY b.stationId, b.status")
+    List<BucketStatusCount> countByStationAndStatus(@Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to);
+
+    interface StatusCount {
+        Status getStatus();
+        Long getCount();
+    }
 
-    List<Booking> findByStatus(Status status);
+    interface BucketStatusCount extends StatusCount {
+        Object getBucket();
+    }
 
     @Query("SELECT COALESCE(SUM(b.totalCost), 0) " +
             "FROM Booking b " +
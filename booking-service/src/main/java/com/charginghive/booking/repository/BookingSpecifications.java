@@ -0,0 +1,51 @@
+package com.charginghive.booking.repository;
+
+import com.charginghive.booking.dto.BookingCursor;
+import com.charginghive.booking.entity.Booking;
+import com.charginghive.booking.entity.Status;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+// reusable filters for BookingRepository (JpaSpecificationExecutor)
+public final class BookingSpecifications {
+
+    // newest first; id breaks ties between bookings created in the same instant
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    private BookingSpecifications() {
+    }
+
+    public static Specification<Booking> all() {
+        return (root, cq, cb) -> cb.conjunction();
+    }
+
+    public static Specification<Booking> userIdEquals(Long userId) {
+        return (root, cq, cb) -> cb.equal(root.get("userId"), userId);
+    }
+
+    public static Specification<Booking> stationIdEquals(Long stationId) {
+        return (root, cq, cb) -> cb.equal(root.get("stationId"), stationId);
+    }
+
+    public static Specification<Booking> statusEquals(Status status) {
+        return (root, cq, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Booking> startTimeFrom(LocalDateTime time) {
+        return (root, cq, cb) -> cb.greaterThanOrEqualTo(root.get("startTime"), time);
+    }
+
+    public static Specification<Booking> startTimeBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return (root, cq, cb) -> cb.between(root.get("startTime"), startDate, endDate);
+    }
+
+    // keyset pagination on (createdAt, id) in NEWEST_FIRST order
+    public static Specification<Booking> before(BookingCursor cursor) {
+        return (root, cq, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+                cb.and(cb.equal(root.get("createdAt"), cursor.createdAt()),
+                        cb.lessThan(root.get("id"), cursor.id())));
+    }
+}
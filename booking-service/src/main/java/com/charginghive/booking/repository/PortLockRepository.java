@@ -0,0 +1,21 @@
+package com.charginghive.booking.repository;
+
+import com.charginghive.booking.entity.PortLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PortLockRepository extends JpaRepository<PortLock, Long> {
+
+    // Creates the port's row if needed and write-locks it in one statement, held until the
+    // surrounding transaction ends. A separate insert-then-select would take a shared lock
+    // first and deadlock two callers upgrading it.
+    @Modifying
+    @Query(value = "INSERT INTO port_locks (port_id, claims) VALUES (:portId, 1) " +
+            "ON DUPLICATE KEY UPDATE claims = claims + 1",
+            nativeQuery = true)
+    void lock(@Param("portId") Long portId);
+}
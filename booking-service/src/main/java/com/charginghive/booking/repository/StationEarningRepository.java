@@ -0,0 +1,71 @@
+package com.charginghive.booking.repository;
+
+import com.charginghive.booking.entity.StationEarning;
+import com.charginghive.booking.entity.StationEarningId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface StationEarningRepository extends JpaRepository<StationEarning, StationEarningId> {
+
+    // Atomic upsert of a delta into a station's day row, so concurrent bookings never lose an update.
+    // Uses the row alias form (MySQL 8.0.19+) instead of the deprecated VALUES() function.
+    @Modifying
+    @Query(value = "INSERT INTO station_earnings " +
+            "(station_id, earning_date, booked_amount, booked_count, completed_amount, completed_count) " +
+            "VALUES (:stationId, :day, :bookedAmount, :bookedCount, :completedAmount, :completedCount) AS delta " +
+            "ON DUPLICATE KEY UPDATE " +
+            "booked_amount = booked_amount + delta.booked_amount, " +
+            "booked_count = booked_count + delta.booked_count, " +
+            "completed_amount = completed_amount + delta.completed_amount, " +
+            "completed_count = completed_count + delta.completed_count",
+            nativeQuery = true)
+    void addDelta(@Param("stationId") Long stationId,
+                  @Param("day") LocalDate day,
+                  @Param("bookedAmount") double bookedAmount,
+                  @Param("bookedCount") long bookedCount,
+                  @Param("completedAmount") double completedAmount,
+                  @Param("completedCount") long completedCount);
+
+    @Query("SELECT e FROM StationEarning e WHERE e.id.stationId = :stationId " +
+           "AND e.id.earningDate >= :from AND e.id.earningDate <= :to ORDER BY e.id.earningDate")
+    List<StationEarning> findDaily(@Param("stationId") Long stationId,
+                                   @Param("from") LocalDate from,
+                                   @Param("to") LocalDate to);
+
+    @Query("SELECT COALESCE(SUM(e.bookedAmount), 0) FROM StationEarning e WHERE e.id.stationId = :stationId")
+    double sumBookedAmount(@Param("stationId") Long stationId);
+
+    @Query("SELECT COALESCE(SUM(e.completedAmount), 0) FROM StationEarning e WHERE e.id.stationId = :stationId")
+    double sumCompletedAmount(@Param("stationId") Long stationId);
+
+    // Every station that has bookings or ledger rows, so a rebuild also clears rows left without bookings
+    @Query(value = "SELECT station_id FROM bookings WHERE station_id IS NOT NULL " +
+            "UNION SELECT station_id FROM station_earnings ORDER BY station_id",
+            nativeQuery = true)
+    List<Long> findLedgerStationIds();
+
+    @Modifying
+    @Query(value = "DELETE FROM station_earnings WHERE station_id = :stationId", nativeQuery = true)
+    int deleteByStation(@Param("stationId") Long stationId);
+
+    // Recompute one station's rows from its bookings (idx_bookings_station_status)
+    @Modifying
+    @Query(value = "INSERT INTO station_earnings " +
+            "(station_id, earning_date, booked_amount, booked_count, completed_amount, completed_count) " +
+            "SELECT station_id, DATE(start_time), " +
+            "SUM(CASE WHEN status = 'BOOKED' THEN COALESCE(total_cost, 0) ELSE 0 END), " +
+            "SUM(CASE WHEN status = 'BOOKED' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN status = 'COMPLETED' THEN COALESCE(total_cost, 0) ELSE 0 END), " +
+            "SUM(CASE WHEN status = 'COMPLETED' THEN 1 ELSE 0 END) " +
+            "FROM bookings WHERE station_id = :stationId AND start_time IS NOT NULL " +
+            "GROUP BY station_id, DATE(start_time)",
+            nativeQuery = true)
+    int rebuildStation(@Param("stationId") Long stationId);
+}
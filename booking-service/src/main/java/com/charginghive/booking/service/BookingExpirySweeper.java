@@ -0,0 +1,78 @@
+package com.charginghive.booking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Completes BOOKED bookings whose end time has passed.
+ * Only the replica holding the sweep lease updates the database, in bounded batches
+ * of bulk UPDATEs.
+ */
+@Component
+@Slf4j
+public class BookingExpirySweeper {
+
+    private static final String LEASE_NAME = "booking-expiry-sweep";
+
+    private final BookingService bookingService;
+    private final SchedulerLeaseService leaseService;
+    private final Timer sweepTimer;
+    private final Counter completedCounter;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration leaseDuration;
+
+    public BookingExpirySweeper(BookingService bookingService,
+                                SchedulerLeaseService leaseService,
+                                MeterRegistry meterRegistry,
+                                @Value("${booking.expiry-sweep.batch-size:500}") int batchSize,
+                                @Value("${booking.expiry-sweep.max-batches:100}") int maxBatches,
+                                @Value("${booking.expiry-sweep.lease:55s}") Duration leaseDuration) {
+        this.bookingService = bookingService;
+        this.leaseService = leaseService;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.leaseDuration = leaseDuration;
+        this.sweepTimer = Timer.builder("booking.expiry.sweep")
+                .description("Time spent completing expired bookings")
+                .register(meterRegistry);
+        this.completedCounter = Counter.builder("booking.expiry.completed")
+                .description("Bookings auto-completed by the expiry sweep")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Auto-complete expired bookings (runs every 1 minute)
+     */
+    @Scheduled(fixedRate = 60000)
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        if (!leaseService.tryAcquire(LEASE_NAME, leaseDuration)) {
+            log.debug("Expiry sweep lease held by another replica, skipping");
+            return;
+        }
+        sweepTimer.record(() -> {
+            int total = 0;
+            // each batch commits on its own so a long backlog never holds one huge transaction
+            for (int batch = 0; batch < maxBatches; batch++) {
+                int picked = bookingService.completeExpiredBatch(now, batchSize);
+                total += picked;
+                if (picked < batchSize) {
+                    break;
+                }
+            }
+            completedCounter.increment(total);
+            if (total > 0) {
+                log.info("Auto-completed {} expired bookings", total);
+            }
+        });
+    }
+}
@@ -5,20 +5,40 @@ import com.charginghive.booking.entity.Booking;
 import com.charginghive.booking.entity.Status;
 import com.charginghive.booking.exception.BookingException;
 import com.charginghive.booking.exception.ResourceNotFoundException;
+import com.charginghive.booking.mapper.BookingMapper;
 import com.charginghive.booking.repository.BookingRepository;
+import com.charginghive.booking.repository.BookingSpecifications;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.io.Console;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -28,7 +48,16 @@ public class BookingService {
 
     private final BookingRepository bookingRepository;
     private final ExternalService externalService;
-    private final ModelMapper modelMapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final EarningsLedgerService earningsLedger;
+    private final PortClaimService portClaims;
+    private final PortAvailabilityIndex availabilityIndex;
+
+    // bookings enriched per station lookup while exporting
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    // range covered by statistics breakdowns when the caller gives no start
+    private static final int STATISTICS_DEFAULT_DAYS = 30;
 
     // Constants for pricing
 //    private static final double BASE_RATE_PER_HOUR = 2.50; // $2.50 per hour
@@ -45,15 +74,16 @@ public class BookingService {
         LocalDateTime endTime = requestDto.getStartTime().plusMinutes(requestDto.getDuration());
         // Validate request
         validateBookingRequest(requestDto,userId,endTime);
+        // user, station and port are checked against the other services in parallel
+        StationInfoDto.PortInfo portInfo = externalService.validateBookingTarget(
+                userId, requestDto.getStationId(), requestDto.getPortId());
 
-        // Check if port is available
-        if (isPortBooked(requestDto.getPortId(), requestDto.getStartTime(), endTime)) {
-            throw new BookingException("Port is not available for the specified time range");
-        }
+        // Check if port is available, under the port lock
+        portClaims.claim(requestDto.getPortId(), requestDto.getStartTime(), endTime, null);
 
         // Calculate cost
 //        double totalCost = calculateBookingCost(requestDto);
-        double totalCost = calculateBookingCost(requestDto.getStationId(),requestDto.getPortId(),requestDto.getDuration());
+        double totalCost = calculateBookingCost(portInfo, requestDto.getStationId(), requestDto.getPortId(), requestDto.getDuration());
 
         // Create booking entity
         Booking booking = Booking.builder().userId(userId).stationId(requestDto.getStationId()).
@@ -66,11 +96,149 @@ public class BookingService {
 
         // Save booking
         Booking savedBooking = bookingRepository.save(booking);
+        earningsLedger.recordCreated(savedBooking);
+        afterCommit(() -> {
+            availabilityIndex.put(savedBooking);
+            externalService.evictStationAvailability(savedBooking.getStationId());
+        });
         log.info("Booking created successfully with ID: {}", savedBooking.getId());
 
         return convertToResponseDto(savedBooking);
     }
 
+    /**
+     * Create several bookings for one user in one transaction. The user is checked once,
+     * all stations and ports come from one bulk station-service call, the ports are locked
+     * in id order and checked for conflicts with one query, and the bookings are saved
+     * together. In ALL_OR_NOTHING mode nothing is saved if any item fails.
+     */
+    public BatchBookingResponseDto createBookings(BatchBookingRequestDto request, Long userId) {
+        List<BookingRequestDto> items = request.getBookings();
+        BatchBookingRequestDto.Mode mode = request.getMode() == null
+                ? BatchBookingRequestDto.Mode.ALL_OR_NOTHING : request.getMode();
+        log.info("Creating {} bookings in batch for user: {} ({})", items.size(), userId, mode);
+
+        if (!externalService.validateUserExists(userId)) {
+            throw new BookingException("User does not exist");
+        }
+
+        String[] errors = new String[items.size()];
+        LocalDateTime[] endTimes = new LocalDateTime[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            BookingRequestDto item = items.get(i);
+            if (item == null || item.getStationId() == null || item.getPortId() == null
+                    || item.getStartTime() == null || item.getDuration() == null) {
+                errors[i] = "Station ID, port ID, start time and duration are required";
+                continue;
+            }
+            endTimes[i] = item.getStartTime().plusMinutes(item.getDuration());
+            try {
+                validateBookingRequest(item, userId, endTimes[i]);
+            } catch (BookingException e) {
+                errors[i] = e.getMessage();
+            }
+        }
+
+        // every station in the batch, with its ports, in one round trip
+        Set<Long> stationIds = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (errors[i] == null) {
+                stationIds.add(items.get(i).getStationId());
+            }
+        }
+        Map<Long, StationInfoDto> stations = externalService.getStationsInfo(stationIds);
+        StationInfoDto.PortInfo[] ports = new StationInfoDto.PortInfo[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            if (errors[i] == null) {
+                BookingRequestDto item = items.get(i);
+                StationInfoDto station = stations.get(item.getStationId());
+                ports[i] = station == null || station.getPorts() == null ? null : station.getPorts().stream()
+                        .filter(port -> item.getPortId().equals(port.getId()))
+                        .findFirst().orElse(null);
+                if (station == null) {
+                    errors[i] = "Station does not exist";
+                } else if (ports[i] == null) {
+                    errors[i] = "Port not found with ID: " + item.getPortId() + " in station: " + item.getStationId();
+                } else if (ports[i].getPricePerHour() == null) {
+                    errors[i] = "Price information is missing for port: " + item.getPortId();
+                }
+            }
+        }
+
+        // lock the ports in id order so two overlapping batches cannot deadlock, then fetch
+        // every BOOKED booking that could clash with any item in a single query
+        TreeSet<Long> portIds = new TreeSet<>();
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        for (int i = 0; i < items.size(); i++) {
+            if (errors[i] == null) {
+                portIds.add(items.get(i).getPortId());
+                from = from == null || items.get(i).getStartTime().isBefore(from) ? items.get(i).getStartTime() : from;
+                to = to == null || endTimes[i].isAfter(to) ? endTimes[i] : to;
+            }
+        }
+        Map<Long, List<TimeSlotDto>> taken = new HashMap<>();
+        if (!portIds.isEmpty()) {
+            portClaims.lockAll(portIds);
+            bookingRepository.findBookedOnPortsBetweenLocked(portIds, from, to).forEach(b ->
+                    taken.computeIfAbsent(b.getPortId(), id -> new ArrayList<>())
+                            .add(new TimeSlotDto(b.getStartTime(), b.getEndTime())));
+        }
+
+        // items are also checked against the earlier items of the same batch
+        List<Booking> bookings = new ArrayList<>();
+        int[] bookingIndex = new int[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            bookingIndex[i] = -1;
+            if (errors[i] != null) {
+                continue;
+            }
+            BookingRequestDto item = items.get(i);
+            List<TimeSlotDto> portSlots = taken.computeIfAbsent(item.getPortId(), id -> new ArrayList<>());
+            LocalDateTime endTime = endTimes[i];
+            if (TimeSlots.overlaps(portSlots, item.getStartTime(), endTime)) {
+                errors[i] = "Port is not available for the specified time range";
+                continue;
+            }
+            portSlots.add(new TimeSlotDto(item.getStartTime(), endTime));
+            bookingIndex[i] = bookings.size();
+            bookings.add(Booking.builder().userId(userId).stationId(item.getStationId()).
+                    portId(item.getPortId()).
+                    startTime(item.getStartTime()).
+                    endTime(endTime).
+                    duration(item.getDuration()).
+                    totalCost(calculateBookingCost(ports[i], item.getStationId(), item.getPortId(), item.getDuration())).
+                    status(Status.BOOKED).build());
+        }
+
+        boolean anyFailed = Arrays.stream(errors).anyMatch(Objects::nonNull);
+        List<BookingResponseDto> saved = List.of();
+        if (!bookings.isEmpty() && !(anyFailed && mode == BatchBookingRequestDto.Mode.ALL_OR_NOTHING)) {
+            List<Booking> savedBookings = bookingRepository.saveAll(bookings);
+            earningsLedger.recordCreated(savedBookings);
+            afterCommit(() -> {
+                savedBookings.forEach(availabilityIndex::put);
+                savedBookings.stream().map(Booking::getStationId).distinct()
+                        .forEach(externalService::evictStationAvailability);
+            });
+            saved = convertToResponseDtos(savedBookings);
+        }
+
+        List<BatchBookingResponseDto.ItemResult> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            if (errors[i] != null) {
+                results.add(new BatchBookingResponseDto.ItemResult(i, false, null, errors[i]));
+            } else if (saved.isEmpty()) {
+                results.add(new BatchBookingResponseDto.ItemResult(i, false, null,
+                        "Not booked because another booking in the batch failed"));
+            } else {
+                results.add(new BatchBookingResponseDto.ItemResult(i, true, saved.get(bookingIndex[i]), null));
+            }
+        }
+        log.info("Batch booking for user: {} booked {} of {}", userId, saved.size(), items.size());
+        return new BatchBookingResponseDto(mode, items.size(), saved.size(), items.size() - saved.size(), results);
+    }
+
     /**
      * Get booking by ID
      */
@@ -83,53 +251,36 @@ public class BookingService {
     /**
      * Get all bookings for a user
      */
-    public List<BookingResponseDto> getUserBookings(Long userId) {
-        List<Booking> bookings = bookingRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        return bookings.stream()
-                .map(this::convertToResponseDto)
-                .toList();
+    public List<BookingResponseDto> getUserBookings(Long userId, BookingCursor cursor, int size) {
+        return findPage(BookingSpecifications.userIdEquals(userId), cursor, size);
     }
 
     /**
      * Get all bookings for a station
      */
-    public List<BookingResponseDto> getStationBookings(Long stationId) {
-        List<Booking> bookings = bookingRepository.findByStationIdOrderByCreatedAtDesc(stationId);
-        return bookings.stream()
-                .map(this::convertToResponseDto)
-                .toList();
+    public List<BookingResponseDto> getStationBookings(Long stationId, BookingCursor cursor, int size) {
+        return findPage(BookingSpecifications.stationIdEquals(stationId), cursor, size);
     }
 
     /**
      * Get all bookings
      */
-    public List<BookingResponseDto> getAllBookings() {
-//        completeExpiredBookingsOnFetch();
-        autoCompleteExpiredBookings();
-        List<Booking> bookings = bookingRepository.findAll();
-        return bookings.stream()
-                .map(this::convertToResponseDto)
-                .toList();
+    public List<BookingResponseDto> getAllBookings(BookingCursor cursor, int size) {
+        return findPage(BookingSpecifications.all(), cursor, size);
     }
 
     /**
      * Get bookings by status
      */
-    public List<BookingResponseDto> getBookingsByStatus(Status status) {
-        List<Booking> bookings = bookingRepository.findByStatusOrderByCreatedAtDesc(status);
-        return bookings.stream()
-                .map(this::convertToResponseDto)
-                .toList();
+    public List<BookingResponseDto> getBookingsByStatus(Status status, BookingCursor cursor, int size) {
+        return findPage(BookingSpecifications.statusEquals(status), cursor, size);
     }
 
     /**
      * Get active bookings
      */
-    public List<BookingResponseDto> getActiveBookings() {
-        List<Booking> bookings = bookingRepository.findActiveBookings();
-        return bookings.stream()
-                .map(this::convertToResponseDto)
-                .toList();
+    public List<BookingResponseDto> getActiveBookings(BookingCursor cursor, int size) {
+        return findPage(BookingSpecifications.statusEquals(Status.BOOKED), cursor, size);
     }
 
     /**
@@ -147,6 +298,7 @@ public class BookingService {
         if (booking.getStatus() == Status.COMPLETED) {
             throw new BookingException("Cannot update a completed booking");
         }
+        EarningsLedgerService.Entry ledgerBefore = EarningsLedgerService.Entry.of(booking);
 
         // Update fields if provided
         if (updateDto.getStartTime() != null) {
@@ -171,7 +323,18 @@ public class BookingService {
             booking.setTotalCost(newCost);
         }
 
+        // a booking moved to a new time must not land on another one
+        if (booking.getStatus() == Status.BOOKED
+                && (updateDto.getStartTime() != null || updateDto.getEndTime() != null)) {
+            portClaims.claim(booking.getPortId(), booking.getStartTime(), booking.getEndTime(), booking.getId());
+        }
+
         Booking updatedBooking = bookingRepository.save(booking);
+        earningsLedger.recordChanged(ledgerBefore, updatedBooking);
+        afterCommit(() -> {
+            availabilityIndex.put(updatedBooking);
+            externalService.evictStationAvailability(updatedBooking.getStationId());
+        });
         log.info("Booking updated successfully with ID: {}", updatedBooking.getId());
 
         return convertToResponseDto(updatedBooking);
@@ -197,8 +360,14 @@ public class BookingService {
             throw new BookingException("Cannot cancel a booking that has already started");
         }
 
+        EarningsLedgerService.Entry ledgerBefore = EarningsLedgerService.Entry.of(booking);
         booking.setStatus(Status.CANCELLED);
         Booking cancelledBooking = bookingRepository.save(booking);
+        earningsLedger.recordChanged(ledgerBefore, cancelledBooking);
+        afterCommit(() -> {
+            availabilityIndex.remove(bookingId);
+            externalService.evictStationAvailability(booking.getStationId());
+        });
         log.info("Booking cancelled successfully with ID: {}", cancelledBooking.getId());
 
         return convertToResponseDto(cancelledBooking);
@@ -219,8 +388,14 @@ public class BookingService {
             throw new BookingException("Cannot complete a cancelled booking");
         }
 
+        EarningsLedgerService.Entry ledgerBefore = EarningsLedgerService.Entry.of(booking);
         booking.setStatus(Status.COMPLETED);
         Booking completedBooking = bookingRepository.save(booking);
+        earningsLedger.recordChanged(ledgerBefore, completedBooking);
+        afterCommit(() -> {
+            availabilityIndex.remove(bookingId);
+            externalService.evictStationAvailability(booking.getStationId());
+        });
         log.info("Booking completed successfully with ID: {}", completedBooking.getId());
 
         return convertToResponseDto(completedBooking);
@@ -229,53 +404,118 @@ public class BookingService {
     /**
      * Get upcoming bookings for a user
      */
-    public List<BookingResponseDto> getUpcomingUserBookings(Long userId) {
-        List<Booking> bookings = bookingRepository.findUpcomingUserBookings(userId, LocalDateTime.now());
-        return bookings.stream()
-                .map(this::convertToResponseDto)
-                .toList();
+    public List<BookingResponseDto> getUpcomingUserBookings(Long userId, BookingCursor cursor, int size) {
+        return findPage(BookingSpecifications.userIdEquals(userId)
+                .and(BookingSpecifications.statusEquals(Status.BOOKED))
+                .and(BookingSpecifications.startTimeFrom(LocalDateTime.now())), cursor, size);
     }
 
     /**
      * Get completed bookings for a user
      */
-    public List<BookingResponseDto> getCompletedUserBookings(Long userId) {
-        List<Booking> bookings = bookingRepository.findCompletedUserBookings(userId);
-        return bookings.stream()
-                .map(this::convertToResponseDto)
-                .toList();
+    public List<BookingResponseDto> getCompletedUserBookings(Long userId, BookingCursor cursor, int size) {
+        return findPage(BookingSpecifications.userIdEquals(userId)
+                .and(BookingSpecifications.statusEquals(Status.COMPLETED)), cursor, size);
     }
 
     /**
      * Get bookings in date range
      */
-    public List<BookingResponseDto> getBookingsInDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        List<Booking> bookings = bookingRepository.findBookingsInDateRange(startDate, endDate);
-        return bookings.stream()
-                .map(this::convertToResponseDto)
-                .toList();
+    public List<BookingResponseDto> getBookingsInDateRange(LocalDateTime startDate, LocalDateTime endDate,
+                                                           BookingCursor cursor, int size) {
+        return findPage(BookingSpecifications.startTimeBetween(startDate, endDate), cursor, size);
+    }
+
+    /**
+     * Write matching bookings as newline-delimited JSON. Rows are streamed from the
+     * database and enriched in fixed-size chunks, so memory stays flat for any table size.
+     */
+    public void exportBookings(Status status, LocalDateTime startDate, LocalDateTime endDate,
+                               OutputStream out) throws IOException {
+        List<Booking> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+        try (Stream<Booking> bookings = bookingRepository.streamForExport(status, startDate, endDate)) {
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                Booking booking = iterator.next();
+                // don't let the persistence context grow with the export
+                entityManager.detach(booking);
+                chunk.add(booking);
+                if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                    writeNdjson(chunk, out);
+                    chunk.clear();
+                }
+            }
+        }
+        writeNdjson(chunk, out);
+        out.flush();
     }
 
     /**
      * Get user bookings in date range
      */
-    public List<BookingResponseDto> getUserBookingsInDateRange(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
-        List<Booking> bookings = bookingRepository.findUserBookingsInDateRange(userId, startDate, endDate);
-        return bookings.stream()
-                .map(this::convertToResponseDto)
-                .toList();
+    public List<BookingResponseDto> getUserBookingsInDateRange(Long userId, LocalDateTime startDate, LocalDateTime endDate,
+                                                               BookingCursor cursor, int size) {
+        return findPage(BookingSpecifications.userIdEquals(userId)
+                .and(BookingSpecifications.startTimeBetween(startDate, endDate)), cursor, size);
     }
 
     /**
-     * Check if port is available for booking
+     * Check if port is available for booking - answered from the availability index once loaded
      */
     public boolean isPortAvailable(Long portId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (availabilityIndex.isReady()) {
+            return !availabilityIndex.overlaps(portId, startTime, endTime);
+        }
         return !isPortBooked(portId, startTime, endTime);
     }
 
+    /**
+     * Get free intervals of a port within a time range - answered from the availability index once loaded
+     */
+    public List<TimeSlotDto> getFreeSlots(Long portId, LocalDateTime startTime, LocalDateTime endTime) {
+        List<TimeSlotDto> booked = availabilityIndex.isReady()
+                ? availabilityIndex.bookedIntervals(portId, startTime, endTime)
+                : bookingRepository.findBookedOnPortsBetween(List.of(portId), startTime, endTime).stream()
+                        .map(b -> new TimeSlotDto(b.getStartTime(), b.getEndTime()))
+                        .toList();
+        return TimeSlots.freeSlots(booked, startTime, endTime);
+    }
+
+
+    /**
+     * Get BOOKED intervals per port within a time range - used by station service
+     * to compute slot availability for a whole station in one call.
+     * Read from the database, not the index: station-service caches the result right after
+     * an eviction, when the index of the replica it reaches may not have the write yet.
+     */
+    public Map<Long, List<TimeSlotDto>> getBookedIntervals(List<Long> portIds, LocalDateTime startTime, LocalDateTime endTime) {
+        Map<Long, List<TimeSlotDto>> intervals = new HashMap<>();
+        portIds.forEach(portId -> intervals.put(portId, new ArrayList<>()));
+        bookingRepository.findBookedOnPortsBetween(portIds, startTime, endTime).forEach(b ->
+                intervals.get(b.getPortId()).add(new TimeSlotDto(b.getStartTime(), b.getEndTime())));
+        return intervals;
+    }
+
 
     // Private helper methods
 
+    private List<BookingResponseDto> findPage(Specification<Booking> spec, BookingCursor cursor, int size) {
+        if (cursor != null) {
+            spec = spec.and(BookingSpecifications.before(cursor));
+        }
+        int limit = BookingCursor.clampSize(size);
+        List<Booking> bookings = bookingRepository.findBy(spec,
+                q -> q.sortBy(BookingSpecifications.NEWEST_FIRST).limit(limit).all());
+        return convertToResponseDtos(bookings);
+    }
+
+    private void writeNdjson(List<Booking> bookings, OutputStream out) throws IOException {
+        for (BookingResponseDto responseDto : convertToResponseDtos(bookings)) {
+            out.write(objectMapper.writeValueAsBytes(responseDto));
+            out.write('\n');
+        }
+    }
+
     private void validateBookingRequest(BookingRequestDto requestDto,Long userId,LocalDateTime endTime) {
         // Validate time constraints
         if (requestDto.getStartTime().isBefore(LocalDateTime.now())) {
@@ -305,22 +545,26 @@ public class BookingService {
         if (requestDto.getDuration() > 1440) {
             throw new BookingException("Maximum booking duration is 24 hours");
         }
-
-        // Validate user exists
-        if (!externalService.validateUserExists(userId)) {
-            throw new BookingException("User does not exist");
-        }
-
-        // Validate station exists
-        if (!externalService.validateStationExists(requestDto.getStationId())) {
-            throw new BookingException("Station does not exist");
-        }
     }
 
     private boolean isPortBooked(Long portId, LocalDateTime startTime, LocalDateTime endTime) {
         return bookingRepository.isPortBooked(portId, startTime, endTime);
     }
 
+    // run once the surrounding transaction has committed, or right away outside a transaction
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
 //    private double calculateBookingCost(BookingRequestDto requestDto) {
 //        // Get port information to calculate cost based on power
 //        StationInfoDto.PortInfo portInfo = externalService.getPortInfo(requestDto.getStationId(), requestDto.getPortId());
@@ -335,9 +579,10 @@ public class BookingService {
 //        return baseCost + powerCost;
 //    }
        private double calculateBookingCost(Long stationId, Long portId,Integer duration) {
+           return calculateBookingCost(externalService.getPortInfo(stationId, portId), stationId, portId, duration);
+       }
 
-           StationInfoDto.PortInfo portInfo = externalService.getPortInfo(stationId,portId);
-
+       private double calculateBookingCost(StationInfoDto.PortInfo portInfo, Long stationId, Long portId, Integer duration) {
 
            if (portInfo == null || portInfo.getPricePerHour() == null) {
                log.error("Could not retrieve price information for port {} at station {}",
@@ -367,7 +612,7 @@ public class BookingService {
 //    }
 
     private BookingResponseDto convertToResponseDto(Booking booking) {
-        BookingResponseDto responseDto = modelMapper.map(booking, BookingResponseDto.class);
+        BookingResponseDto responseDto = BookingMapper.toResponseDto(booking);
 
         try {
             // Add station information
@@ -386,12 +631,59 @@ public class BookingService {
         return responseDto;
     }
 
+    /**
+     * Convert a list of bookings, resolving station and port details with a single
+     * bulk call for all distinct stations instead of two remote calls per booking
+     */
+    private List<BookingResponseDto> convertToResponseDtos(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> stationIds = bookings.stream()
+                .map(Booking::getStationId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<Long, StationInfoDto> stations = new HashMap<>();
+        try {
+            stations = externalService.getStationsInfo(stationIds);
+        } catch (Exception e) {
+            log.warn("Could not fetch external information for {} bookings", bookings.size(), e);
+        }
+
+        // port ids are unique across stations, so one flat lookup is enough
+        Map<Long, StationInfoDto.PortInfo> ports = new HashMap<>();
+        for (StationInfoDto station : stations.values()) {
+            if (station.getPorts() != null) {
+                station.getPorts().forEach(port -> ports.put(port.getId(), port));
+            }
+        }
+
+        List<BookingResponseDto> responseDtos = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            BookingResponseDto responseDto = BookingMapper.toResponseDto(booking);
+            StationInfoDto stationInfo = stations.get(booking.getStationId());
+            if (stationInfo != null) {
+                responseDto.setStationName(stationInfo.getName());
+                responseDto.setStationAddress(stationInfo.getAddress());
+            }
+            StationInfoDto.PortInfo portInfo = ports.get(booking.getPortId());
+            if (portInfo != null) {
+                responseDto.setConnectorType(portInfo.getConnectorType());
+                responseDto.setMaxPowerKw(portInfo.getMaxPowerKw());
+            }
+            responseDtos.add(responseDto);
+        }
+        return responseDtos;
+    }
+
     public List<BookingResponseDto> getAllBookingsByUserId(Long userId) {
         List<BookingResponseDto> responseDtos = new ArrayList<>();
         try{
             responseDtos = bookingRepository.findTop10ByUserIdOrderByCreatedAtDesc(userId)
                     .stream()
-                    .map(b -> modelMapper.map(b, BookingResponseDto.class))
+                    .map(BookingMapper::toResponseDto)
                     .toList();
         }
         catch (Exception e){
@@ -402,75 +694,86 @@ public class BookingService {
 
 
 
-    // Statistics class
-    public static class BookingStatistics {
-        private final long totalBookings;
-        private final long activeBookings;
-        private final long completedBookings;
-        private final long cancelledBookings;
-
-        public BookingStatistics(long totalBookings, long activeBookings, long completedBookings, long cancelledBookings) {
-            this.totalBookings = totalBookings;
-            this.activeBookings = activeBookings;
-            this.completedBookings = completedBookings;
-            this.cancelledBookings = cancelledBookings;
+    /**
+     * Booking counts per status from one GROUP BY query, optionally broken down per
+     * start day or per station for bookings starting in [from, to)
+     */
+    public BookingStatisticsDto getBookingStatistics(String groupBy, LocalDateTime from, LocalDateTime to) {
+        BookingStatisticsDto statistics = new BookingStatisticsDto();
+        for (BookingRepository.StatusCount row : bookingRepository.countByStatus()) {
+            statistics.getByStatus().put(row.getStatus(), row.getCount());
+            statistics.setTotalBookings(statistics.getTotalBookings() + row.getCount());
         }
+        statistics.setActiveBookings(statistics.getByStatus().getOrDefault(Status.BOOKED, 0L));
+        statistics.setCompletedBookings(statistics.getByStatus().getOrDefault(Status.COMPLETED, 0L));
+        statistics.setCancelledBookings(statistics.getByStatus().getOrDefault(Status.CANCELLED, 0L));
 
-        // Getters
-        public long getTotalBookings() { return totalBookings; }
-        public long getActiveBookings() { return activeBookings; }
-        public long getCompletedBookings() { return completedBookings; }
-        public long getCancelledBookings() { return cancelledBookings; }
+        if (groupBy == null || groupBy.isBlank()) {
+            return statistics;
+        }
+        LocalDateTime rangeEnd = to != null ? to : LocalDateTime.now();
+        LocalDateTime rangeStart = from != null ? from : rangeEnd.minusDays(STATISTICS_DEFAULT_DAYS);
+        if (!rangeStart.isBefore(rangeEnd)) {
+            throw new BookingException("Statistics range start must be before its end");
+        }
+        List<BookingRepository.BucketStatusCount> rows = switch (groupBy.toLowerCase()) {
+            case "day" -> bookingRepository.countByDayAndStatus(rangeStart, rangeEnd);
+            case "station" -> bookingRepository.countByStationAndStatus(rangeStart, rangeEnd);
+            default -> throw new BookingException("Unsupported statistics grouping: " + groupBy);
+        };
+
+        // ISO dates sort as text, station ids numerically; bookings without a station go last
+        Comparator<Object> order = "station".equalsIgnoreCase(groupBy)
+                ? Comparator.nullsLast(Comparator.comparingLong(key -> ((Number) key).longValue()))
+                : Comparator.nullsLast(Comparator.comparing(String::valueOf));
+        Map<Object, BookingStatisticsDto.Bucket> buckets = new TreeMap<>(order);
+        for (BookingRepository.BucketStatusCount row : rows) {
+            BookingStatisticsDto.Bucket bucket = buckets.computeIfAbsent(row.getBucket(),
+                    key -> new BookingStatisticsDto.Bucket(String.valueOf(key), 0, new EnumMap<>(Status.class)));
+            bucket.getByStatus().put(row.getStatus(), row.getCount());
+            bucket.setTotal(bucket.getTotal() + row.getCount());
+        }
+        statistics.setGroupBy(groupBy.toLowerCase());
+        statistics.setBuckets(new ArrayList<>(buckets.values()));
+        return statistics;
     }
 
     /**
-     * Auto-complete expired bookings (runs every 1 minute)
+     * Mark one batch of expired BOOKED bookings as COMPLETED with a bulk update.
+     * Called by BookingExpirySweeper; returns the number of ids picked for the batch.
      */
-    @Scheduled(fixedRate = 60000)
-    public void autoCompleteExpiredBookings() {
-        System.out.println("Scheduler triggered: " + LocalDateTime.now());
-        List<Booking> expiredBookings = bookingRepository
-                .findByStatusAndEndTimeBefore(Status.BOOKED, LocalDateTime.now());
-        System.out.println("Found " + expiredBookings.size() + " expired bookings");
-
-        //TO check timezone
-        LocalDateTime now = LocalDateTime.now();
-        System.out.println("Current time in app: " + now);
-
-        // For debugging: fetch all BOOKED bookings and print their endTime
-        List<Booking> bookedBookings = bookingRepository.findByStatus(Status.BOOKED);
-        bookedBookings.forEach(b -> System.out.println("Booking id=" + b.getId() + ", endTime=" + b.getEndTime()));
-
-
-        if (!expiredBookings.isEmpty()) {
-            System.out.println("changing bookied status to Completed status!");
-            expiredBookings.forEach(b -> b.setStatus(Status.COMPLETED));
-            bookingRepository.saveAll(expiredBookings);
-            log.info("Auto-completed {} expired bookings", expiredBookings.size());
+    @Transactional
+    public int completeExpiredBatch(LocalDateTime now, int batchSize) {
+        // rows stay locked until commit, so the ledger moves exactly the bookings updated here
+        List<Booking> expired = bookingRepository.findExpiredBookedForUpdate(now, Limit.of(batchSize));
+        if (expired.isEmpty()) {
+            return 0;
         }
+        List<Long> expiredIds = expired.stream().map(Booking::getId).toList();
+        int completed = bookingRepository.updateStatusByIds(expiredIds, Status.BOOKED, Status.COMPLETED, now);
+        earningsLedger.recordCompleted(expired);
+        afterCommit(() -> availabilityIndex.removeAll(expiredIds));
+        log.debug("Auto-completed {} of {} expired bookings in batch", completed, expiredIds.size());
+        return expiredIds.size();
     }
 
     /**
-     * Call this before returning booking lists to ensure statuses are fresh
+     * Drop cached station/port metadata after station-service changed the station
      */
-    private void completeExpiredBookingsOnFetch() {
-        autoCompleteExpiredBookings();
+    public void evictStationCache(Long stationId) {
+        externalService.evictStation(stationId);
     }
 
 
-    public EarningResponseDto getTotalEarningForAStationById(Long stationId) {
+    public EarningResponseDto getTotalEarningForAStationById(Long stationId, LocalDate from, LocalDate to) {
+        return earningsLedger.getEarnings(stationId, from, to);
+    }
 
-        EarningResponseDto earningResponseDto = null;
-        try{
-//            int count = Math.toIntExact(bookingRepository.countByStationId(stationId));
-            Double sum = bookingRepository.sumTotalCostByStationIdAndStatus(stationId, Status.BOOKED);
-//            earningResponseDto = bookingRepository.countBookingsAndSumTotalCostByStationIdAndStatus(stationId, Status.BOOKED);
-            log.info("got the total earning of booked ports: "+sum);
-            earningResponseDto = EarningResponseDto.builder().totalEarning(sum).build();
-        }
-        catch (Exception e){
-            log.warn("could not fetch bookings due to invalid stationId: {}", stationId, e);
-        }
-        return earningResponseDto;
+    public List<StationEarningDto> getDailyEarnings(Long stationId, LocalDate from, LocalDate to) {
+        return earningsLedger.getDailyEarnings(stationId, from, to);
+    }
+
+    public int rebuildEarningsLedger() {
+        return earningsLedger.rebuild();
     }
 }
\ No newline at end of file
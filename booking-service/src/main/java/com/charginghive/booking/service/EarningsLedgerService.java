@@ -0,0 +1,191 @@
+package com.charginghive.booking.service;
+
+import com.charginghive.booking.dto.EarningResponseDto;
+import com.charginghive.booking.dto.StationEarningDto;
+import com.charginghive.booking.entity.Booking;
+import com.charginghive.booking.entity.Status;
+import com.charginghive.booking.repository.StationEarningRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the station_earnings rollup. BookingService reports every change to a
+ * booking's station, day, status or cost inside its own transaction, so the ledger
+ * commits or rolls back together with the booking.
+ */
+@Service
+@Slf4j
+public class EarningsLedgerService {
+
+    private static final String REBUILD_LEASE = "earnings-ledger-rebuild";
+
+    private final StationEarningRepository earningRepository;
+    private final SchedulerLeaseService leaseService;
+    // rebuild runs outside any booking transaction, also when invoked from within this bean
+    private final TransactionTemplate transactionTemplate;
+
+    public EarningsLedgerService(StationEarningRepository earningRepository,
+                                 SchedulerLeaseService leaseService,
+                                 PlatformTransactionManager transactionManager) {
+        this.earningRepository = earningRepository;
+        this.leaseService = leaseService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * What a booking contributes to the ledger; take one before changing a booking
+     */
+    public record Entry(Long stationId, LocalDate day, Status status, double cost) {
+
+        public static Entry of(Booking booking) {
+            if (booking.getStationId() == null || booking.getStartTime() == null) {
+                return null;
+            }
+            return new Entry(booking.getStationId(), booking.getStartTime().toLocalDate(), booking.getStatus(),
+                    booking.getTotalCost() == null ? 0 : booking.getTotalCost());
+        }
+    }
+
+    public void recordCreated(Booking booking) {
+        apply(Entry.of(booking), 1);
+    }
+
+    /**
+     * Bookings created together; grouped so each station day is touched once
+     */
+    public void recordCreated(Collection<Booking> bookings) {
+        Map<Entry, long[]> counts = new HashMap<>();
+        Map<Entry, Double> amounts = new HashMap<>();
+        for (Booking booking : bookings) {
+            Entry entry = Entry.of(booking);
+            if (entry == null || entry.status() != Status.BOOKED) {
+                continue;
+            }
+            Entry key = new Entry(entry.stationId(), entry.day(), Status.BOOKED, 0);
+            counts.computeIfAbsent(key, k -> new long[1])[0]++;
+            amounts.merge(key, entry.cost(), Double::sum);
+        }
+        counts.forEach((key, count) ->
+                earningRepository.addDelta(key.stationId(), key.day(), amounts.get(key), count[0], 0, 0));
+    }
+
+    /**
+     * Move a booking's contribution from its old state to its current one
+     */
+    public void recordChanged(Entry before, Booking booking) {
+        Entry after = Entry.of(booking);
+        if (before != null && before.equals(after)) {
+            return;
+        }
+        apply(before, -1);
+        apply(after, 1);
+    }
+
+    /**
+     * Bookings that went from BOOKED to COMPLETED in bulk; grouped so each station day
+     * is touched once
+     */
+    public void recordCompleted(Collection<Booking> bookings) {
+        Map<Entry, long[]> counts = new HashMap<>();
+        Map<Entry, Double> amounts = new HashMap<>();
+        for (Booking booking : bookings) {
+            Entry entry = Entry.of(booking);
+            if (entry == null) {
+                continue;
+            }
+            Entry key = new Entry(entry.stationId(), entry.day(), Status.COMPLETED, 0);
+            counts.computeIfAbsent(key, k -> new long[1])[0]++;
+            amounts.merge(key, entry.cost(), Double::sum);
+        }
+        counts.forEach((key, count) -> {
+            double amount = amounts.get(key);
+            earningRepository.addDelta(key.stationId(), key.day(), -amount, -count[0], amount, count[0]);
+        });
+    }
+
+    private void apply(Entry entry, int sign) {
+        if (entry == null) {
+            return;
+        }
+        if (entry.status() == Status.BOOKED) {
+            earningRepository.addDelta(entry.stationId(), entry.day(), sign * entry.cost(), sign, 0, 0);
+        } else if (entry.status() == Status.COMPLETED) {
+            earningRepository.addDelta(entry.stationId(), entry.day(), 0, 0, sign * entry.cost(), sign);
+        }
+    }
+
+    /**
+     * Earnings of a station, read from the ledger; from/to (inclusive) limit the days
+     * summed and may be null for no bound
+     */
+    public EarningResponseDto getEarnings(Long stationId, LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return EarningResponseDto.builder()
+                    .totalEarning(earningRepository.sumBookedAmount(stationId))
+                    .completedEarning(earningRepository.sumCompletedAmount(stationId))
+                    .build();
+        }
+        double booked = 0;
+        double completed = 0;
+        for (StationEarningDto day : getDailyEarnings(stationId, from, to)) {
+            booked += day.getBookedAmount();
+            completed += day.getCompletedAmount();
+        }
+        return EarningResponseDto.builder().totalEarning(booked).completedEarning(completed).build();
+    }
+
+    public List<StationEarningDto> getDailyEarnings(Long stationId, LocalDate from, LocalDate to) {
+        return earningRepository.findDaily(stationId,
+                        from != null ? from : LocalDate.of(1970, 1, 1),
+                        to != null ? to : LocalDate.of(9999, 12, 31))
+                .stream()
+                .map(e -> new StationEarningDto(e.getId().getEarningDate(), e.getBookedAmount(), e.getBookedCount(),
+                        e.getCompletedAmount(), e.getCompletedCount()))
+                .toList();
+    }
+
+    /**
+     * Recompute the whole ledger from the bookings table, one station per transaction so
+     * no lock is held on more than one station's bookings and rows at a time. Bookings
+     * written meanwhile land either before a station's rebuild (and are counted by it) or
+     * after its commit (and are added on top as usual).
+     */
+    public int rebuild() {
+        List<Long> stationIds = earningRepository.findLedgerStationIds();
+        int rows = 0;
+        for (Long stationId : stationIds) {
+            Integer stationRows = transactionTemplate.execute(status -> {
+                earningRepository.deleteByStation(stationId);
+                return earningRepository.rebuildStation(stationId);
+            });
+            rows += stationRows == null ? 0 : stationRows;
+        }
+        log.info("Earnings ledger rebuilt with {} station days for {} stations", rows, stationIds.size());
+        return rows;
+    }
+
+    /**
+     * Backfill on first start: an empty ledger is filled from existing bookings by
+     * whichever replica gets the lease
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (earningRepository.count() > 0) {
+            return;
+        }
+        if (leaseService.tryAcquire(REBUILD_LEASE, Duration.ofMinutes(10))) {
+            rebuild();
+        }
+    }
+}
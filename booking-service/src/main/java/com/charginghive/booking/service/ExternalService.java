@@ -3,28 +3,101 @@ package com.charginghive.booking.service;
 import com.charginghive.booking.dto.StationInfoDto;
 import com.charginghive.booking.dto.UserInfoDto;
 import com.charginghive.booking.exception.BookingException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
 @Service
 @Slf4j
 public class ExternalService {
 
     private final RestClient stationClient;
     private final RestClient userClient;
-    public ExternalService(RestClient.Builder restClientBuilder) {
-        this.userClient = restClientBuilder.baseUrl("http://AUTH-SERVICE").build();
-        this.stationClient = restClientBuilder.baseUrl("http://STATION-SERVICE").build();
+
+    // near-cache for station/port metadata, which changes far less often than it is read
+    private final Cache<Long, StationInfoDto> stationCache;
+    private final Cache<PortKey, StationInfoDto.PortInfo> portCache;
+    private final Cache<Long, Boolean> stationExistsCache;
+
+    private final Executor downstreamExecutor;
+    private final InstanceBroadcaster broadcaster;
+
+    public ExternalService(RestClient.Builder restClientBuilder,
+                           MeterRegistry meterRegistry,
+                           @Qualifier("downstreamExecutor") Executor downstreamExecutor,
+                           InstanceBroadcaster broadcaster,
+                           @Value("${booking.station-cache.max-size:10000}") long maxSize,
+                           @Value("${booking.station-cache.ttl:5m}") Duration ttl,
+                           @Value("${booking.clients.connect-timeout:2s}") Duration connectTimeout,
+                           @Value("${booking.clients.read-timeout:5s}") Duration readTimeout) {
+        this.downstreamExecutor = downstreamExecutor;
+        this.broadcaster = broadcaster;
+        // one HTTP client per target service, so each gets its own connection pool and a
+        // slow service cannot hold the other's connections
+        this.userClient = restClientBuilder.clone()
+                .baseUrl("http://AUTH-SERVICE")
+                .requestFactory(requestFactory(connectTimeout, readTimeout))
+                .build();
+        this.stationClient = restClientBuilder.clone()
+                .baseUrl("http://STATION-SERVICE")
+                .requestFactory(requestFactory(connectTimeout, readTimeout))
+                .build();
+        this.stationCache = buildCache(maxSize, ttl);
+        this.portCache = buildCache(maxSize, ttl);
+        this.stationExistsCache = buildCache(maxSize, ttl);
+        CaffeineCacheMetrics.monitor(meterRegistry, stationCache, "station-info");
+        CaffeineCacheMetrics.monitor(meterRegistry, portCache, "port-info");
+        CaffeineCacheMetrics.monitor(meterRegistry, stationExistsCache, "station-exists");
+    }
+
+    private static JdkClientHttpRequestFactory requestFactory(Duration connectTimeout, Duration readTimeout) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .build();
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(readTimeout);
+        return factory;
+    }
+
+    private static <K, V> Cache<K, V> buildCache(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    private record PortKey(Long stationId, Long portId) {
     }
 
-    
     public StationInfoDto getStationInfo(Long stationId) {
+        StationInfoDto cached = stationCache.getIfPresent(stationId);
+        if (cached != null) {
+            return cached;
+        }
         try {
             String url = "/stations/" + stationId;
             StationInfoDto stationInfo = stationClient.get().uri(url)
@@ -33,6 +106,7 @@ public class ExternalService {
             if (stationInfo == null) {
                 throw new BookingException("Station not found with ID: " + stationId);
             }
+            cacheStation(stationInfo);
             return stationInfo;
         } catch (Exception e) {
             log.error("Error fetching station info for stationId: {}", stationId, e);
@@ -40,7 +114,51 @@ public class ExternalService {
         }
     }
     
+    /**
+     * Fetch several stations (with their ports) in one round trip, keyed by station id.
+     * Stations unknown to station-service are simply absent from the result.
+     */
+    public Map<Long, StationInfoDto> getStationsInfo(Collection<Long> stationIds) {
+        Map<Long, StationInfoDto> stations = new HashMap<>();
+        if (stationIds == null || stationIds.isEmpty()) {
+            return stations;
+        }
+        List<Long> missing = new ArrayList<>();
+        for (Long stationId : stationIds) {
+            StationInfoDto cached = stationCache.getIfPresent(stationId);
+            if (cached != null) {
+                stations.put(stationId, cached);
+            } else {
+                missing.add(stationId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return stations;
+        }
+        try {
+            List<StationInfoDto> body = stationClient.post().uri("/stations/batch")
+                    .body(missing)
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<List<StationInfoDto>>() {});
+            if (body != null) {
+                body.forEach(station -> {
+                    cacheStation(station);
+                    stations.put(station.getId(), station);
+                });
+            }
+            return stations;
+        } catch (Exception e) {
+            log.error("Error fetching station info for stationIds: {}", stationIds, e);
+            throw new BookingException("Failed to fetch station information: " + e.getMessage());
+        }
+    }
+
     public StationInfoDto.PortInfo getPortInfo(Long stationId, Long portId) {
+        PortKey key = new PortKey(stationId, portId);
+        StationInfoDto.PortInfo cached = portCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
         try {
             String url = "/stations/" + stationId + "/ports/" + portId;
             StationInfoDto.PortInfo portInfo = stationClient.get().uri(url)
@@ -49,6 +167,7 @@ public class ExternalService {
             if (portInfo == null) {
                 throw new BookingException("Port not found with ID: " + portId + " in station: " + stationId);
             }
+            portCache.put(key, portInfo);
             return portInfo;
         } catch (Exception e) {
             log.error("Error fetching port info for stationId: {} and portId: {}", stationId, portId, e);
@@ -56,6 +175,36 @@ public class ExternalService {
         }
     }
     
+    /**
+     * Check that the user and station exist and fetch the port being booked. The three
+     * calls run in parallel, so this takes as long as the slowest of them.
+     */
+    public StationInfoDto.PortInfo validateBookingTarget(Long userId, Long stationId, Long portId) {
+        CompletableFuture<Boolean> userExists =
+                CompletableFuture.supplyAsync(() -> validateUserExists(userId), downstreamExecutor);
+        CompletableFuture<Boolean> stationExists =
+                CompletableFuture.supplyAsync(() -> validateStationExists(stationId), downstreamExecutor);
+        CompletableFuture<StationInfoDto.PortInfo> portInfo =
+                CompletableFuture.supplyAsync(() -> getPortInfo(stationId, portId), downstreamExecutor);
+
+        if (!userExists.join()) {
+            portInfo.cancel(false);
+            throw new BookingException("User does not exist");
+        }
+        if (!stationExists.join()) {
+            portInfo.cancel(false);
+            throw new BookingException("Station does not exist");
+        }
+        try {
+            return portInfo.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof BookingException bookingException) {
+                throw bookingException;
+            }
+            throw new BookingException("Failed to fetch port information: " + e.getCause().getMessage());
+        }
+    }
+
     public UserInfoDto getUserInfo(Long userId) {
         try {
             String url = "/api/users/" + userId;
@@ -86,15 +235,60 @@ public class ExternalService {
     }
     
     public boolean validateStationExists(Long stationId) {
+        if (stationExistsCache.getIfPresent(stationId) != null) {
+            return true;
+        }
         try {
             String url = "/stations/" + stationId + "/exists";
             Boolean exists = stationClient.get().uri(url)
                     .retrieve()
                     .body(Boolean.class);
-            return exists != null && exists;
+            // only positive answers are cached so a newly created station is never reported missing
+            if (exists != null && exists) {
+                stationExistsCache.put(stationId, Boolean.TRUE);
+                return true;
+            }
+            return false;
         } catch (Exception e) {
             log.error("Error validating station existence for stationId: {}", stationId, e);
             return false;
         }
     }
+
+    /**
+     * Drop everything cached for a station - called when station-service reports a change
+     * to the station or any of its ports
+     */
+    public void evictStation(Long stationId) {
+        stationCache.invalidate(stationId);
+        stationExistsCache.invalidate(stationId);
+        portCache.asMap().keySet().removeIf(key -> key.stationId().equals(stationId));
+        log.info("Evicted cached station info for stationId: {}", stationId);
+    }
+
+    /**
+     * Drop all cached station/port metadata
+     */
+    public void evictAllStations() {
+        stationCache.invalidateAll();
+        stationExistsCache.invalidateAll();
+        portCache.invalidateAll();
+        log.info("Evicted all cached station info");
+    }
+
+    /**
+     * Tell every station-service instance that bookings of a station changed so each drops
+     * its cached slot availability. Best effort: the station-side cache also expires on its own.
+     */
+    public void evictStationAvailability(Long stationId) {
+        broadcaster.delete("STATION-SERVICE", "/stations/{stationId}/availability/cache", stationId);
+    }
+
+    private void cacheStation(StationInfoDto station) {
+        stationCache.put(station.getId(), station);
+        stationExistsCache.put(station.getId(), Boolean.TRUE);
+        if (station.getPorts() != null) {
+            station.getPorts().forEach(port -> portCache.put(new PortKey(station.getId(), port.getId()), port));
+        }
+    }
 }
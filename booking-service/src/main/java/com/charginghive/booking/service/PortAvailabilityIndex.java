@@ -0,0 +1,221 @@
+package com.charginghive.booking.service;
+
+import com.charginghive.booking.dto.TimeSlotDto;
+import com.charginghive.booking.entity.Booking;
+import com.charginghive.booking.entity.Status;
+import com.charginghive.booking.repository.BookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index of BOOKED reservations per port, so availability probes don't have to
+ * hit MySQL. Reservations are kept sorted by start time; an overlap with [start, end) can
+ * only come from a reservation starting in (start - longest reservation, end), so lookups
+ * are a skip-list range scan instead of a table query.
+ * Each replica holds its own copy. Its own writes are applied after commit, bookings written
+ * by other replicas are picked up by updatedAt every refresh interval, and the whole index
+ * is reconciled with the database every resync interval. Until the first load finishes,
+ * callers query the database. PortClaimService stays the guard when a booking is saved.
+ */
+@Component
+@Slf4j
+public class PortAvailabilityIndex {
+
+    // longest booking accepted by createBooking (24 hours)
+    private static final long MAX_BOOKING_MINUTES = 1440;
+
+    private static final Comparator<Reservation> BY_START =
+            Comparator.comparing(Reservation::start).thenComparing(Reservation::bookingId);
+
+    private final BookingRepository bookingRepository;
+    // margin for clock differences between replicas when picking up their writes
+    private final Duration clockSkew;
+
+    private final Map<Long, NavigableSet<Reservation>> reservationsByPort = new ConcurrentHashMap<>();
+    private final Map<Long, Reservation> reservationsByBooking = new ConcurrentHashMap<>();
+    // updates can stretch a booking past 24 hours, so the look-back window ratchets up if needed
+    private final AtomicLong longestMinutes = new AtomicLong(MAX_BOOKING_MINUTES);
+    private final Object resyncLock = new Object();
+    private volatile boolean ready = false;
+    // bookings written at or after this time have not been read back from the database yet
+    private volatile LocalDateTime changedSince;
+
+    private record Reservation(Long bookingId, Long portId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    public PortAvailabilityIndex(BookingRepository bookingRepository,
+                                 @Value("${booking.availability-index.clock-skew:1m}") Duration clockSkew) {
+        this.bookingRepository = bookingRepository;
+        this.clockSkew = clockSkew;
+    }
+
+    /**
+     * Bring the index in line with the BOOKED reservations in the database. Runs at startup
+     * and then every resync interval; a failed run leaves the previous state in place.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${booking.availability-index.resync-interval:5m}",
+            initialDelayString = "${booking.availability-index.resync-interval:5m}")
+    public void resync() {
+        synchronized (resyncLock) {
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                LocalDateTime started = now.minus(clockSkew);
+                List<Booking> booked = bookingRepository.findByStatusAndEndTimeAfter(Status.BOOKED, now);
+                Set<Long> bookedIds = new HashSet<>();
+                booked.forEach(booking -> {
+                    bookedIds.add(booking.getId());
+                    put(booking);
+                });
+                reservationsByBooking.keySet().stream()
+                        .filter(id -> !bookedIds.contains(id))
+                        .toList()
+                        .forEach(this::remove);
+                changedSince = started;
+                if (!ready) {
+                    ready = true;
+                    log.info("Port availability index loaded with {} reservations on {} ports",
+                            booked.size(), reservationsByPort.size());
+                }
+            } catch (Exception e) {
+                log.error("Port availability index resync failed", e);
+            }
+        }
+    }
+
+    /**
+     * Apply bookings written since the last refresh, on this or any other replica, and drop
+     * reservations that have ended
+     */
+    @Scheduled(fixedDelayString = "${booking.availability-index.refresh-interval:5s}",
+            initialDelayString = "${booking.availability-index.refresh-interval:5s}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+        synchronized (resyncLock) {
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                LocalDateTime started = now.minus(clockSkew);
+                bookingRepository.findByUpdatedAtGreaterThanEqual(changedSince).forEach(this::put);
+                pruneEndedBefore(now);
+                changedSince = started;
+            } catch (Exception e) {
+                log.error("Port availability index refresh failed", e);
+            }
+        }
+    }
+
+    /**
+     * Whether the first load has finished
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Add or refresh the reservation held by a booking. Bookings that are no longer
+     * BOOKED are dropped from the index.
+     */
+    public synchronized void put(Booking booking) {
+        remove(booking.getId());
+        if (booking.getStatus() != Status.BOOKED || booking.getPortId() == null
+                || booking.getStartTime() == null || booking.getEndTime() == null) {
+            return;
+        }
+        Reservation reservation = new Reservation(booking.getId(), booking.getPortId(),
+                booking.getStartTime(), booking.getEndTime());
+        longestMinutes.accumulateAndGet(
+                ChronoUnit.MINUTES.between(reservation.start(), reservation.end()), Math::max);
+        reservationsByPort
+                .computeIfAbsent(reservation.portId(), id -> new ConcurrentSkipListSet<>(BY_START))
+                .add(reservation);
+        reservationsByBooking.put(reservation.bookingId(), reservation);
+    }
+
+    /**
+     * Drop the reservation held by a booking, if any
+     */
+    public synchronized void remove(Long bookingId) {
+        Reservation reservation = reservationsByBooking.remove(bookingId);
+        if (reservation == null) {
+            return;
+        }
+        NavigableSet<Reservation> reservations = reservationsByPort.get(reservation.portId());
+        if (reservations != null) {
+            reservations.remove(reservation);
+        }
+    }
+
+    public void removeAll(Collection<Long> bookingIds) {
+        bookingIds.forEach(this::remove);
+    }
+
+    // ended reservations can no longer clash with anything
+    private void pruneEndedBefore(LocalDateTime time) {
+        List<Long> ended = new ArrayList<>();
+        reservationsByBooking.values().forEach(reservation -> {
+            if (reservation.end().isBefore(time)) {
+                ended.add(reservation.bookingId());
+            }
+        });
+        removeAll(ended);
+    }
+
+    /**
+     * Whether any BOOKED reservation on the port overlaps [startTime, endTime)
+     */
+    public boolean overlaps(Long portId, LocalDateTime startTime, LocalDateTime endTime) {
+        for (Reservation reservation : candidates(portId, startTime, endTime)) {
+            if (reservation.end().isAfter(startTime)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * BOOKED intervals on the port that overlap [from, to), in start order
+     */
+    public List<TimeSlotDto> bookedIntervals(Long portId, LocalDateTime from, LocalDateTime to) {
+        List<TimeSlotDto> booked = new ArrayList<>();
+        for (Reservation reservation : candidates(portId, from, to)) {
+            if (reservation.end().isAfter(from)) {
+                booked.add(new TimeSlotDto(reservation.start(), reservation.end()));
+            }
+        }
+        return booked;
+    }
+
+    // reservations that start before `endTime` and late enough to still reach `startTime`
+    private NavigableSet<Reservation> candidates(Long portId, LocalDateTime startTime, LocalDateTime endTime) {
+        NavigableSet<Reservation> reservations = reservationsByPort.get(portId);
+        if (reservations == null || !startTime.isBefore(endTime)) {
+            return Collections.emptyNavigableSet();
+        }
+        Reservation lower = new Reservation(Long.MIN_VALUE, portId,
+                startTime.minusMinutes(longestMinutes.get()), startTime);
+        Reservation upper = new Reservation(Long.MIN_VALUE, portId, endTime, endTime);
+        return reservations.subSet(lower, true, upper, false);
+    }
+}
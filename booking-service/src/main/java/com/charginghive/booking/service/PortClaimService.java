@@ -0,0 +1,46 @@
+package com.charginghive.booking.service;
+
+import com.charginghive.booking.exception.BookingException;
+import com.charginghive.booking.repository.BookingRepository;
+import com.charginghive.booking.repository.PortLockRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.TreeSet;
+
+/**
+ * Serializes bookings on the same port through the port_locks row lock. Locks are held
+ * until the caller's transaction ends, so these methods must run inside one.
+ */
+@Service
+@Transactional(Transactional.TxType.MANDATORY)
+@RequiredArgsConstructor
+public class PortClaimService {
+
+    private final PortLockRepository portLockRepository;
+    private final BookingRepository bookingRepository;
+
+    /**
+     * Take the port's row lock for the rest of the transaction, then fail if a BOOKED booking
+     * other than excludeBookingId overlaps [startTime, endTime). Two requests for the same port
+     * run this one after the other, so the second sees the first's booking; other ports are
+     * not blocked.
+     */
+    public void claim(Long portId, LocalDateTime startTime, LocalDateTime endTime, Long excludeBookingId) {
+        portLockRepository.lock(portId);
+        if (!bookingRepository.findConflictsLocked(portId, startTime, endTime, excludeBookingId, Limit.of(1)).isEmpty()) {
+            throw new BookingException("Port is not available for the specified time range");
+        }
+    }
+
+    /**
+     * Lock several ports in id order, so two overlapping batches cannot deadlock
+     */
+    public void lockAll(Collection<Long> portIds) {
+        new TreeSet<>(portIds).forEach(portLockRepository::lock);
+    }
+}
@@ -0,0 +1,50 @@
+package com.charginghive.booking.service;
+
+import com.charginghive.booking.entity.SchedulerLease;
+import com.charginghive.booking.repository.SchedulerLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class SchedulerLeaseService {
+
+    private final SchedulerLeaseRepository leaseRepository;
+    // identifies this replica as lease owner
+    private final String nodeId;
+
+    public SchedulerLeaseService(SchedulerLeaseRepository leaseRepository) {
+        this.leaseRepository = leaseRepository;
+        this.nodeId = hostName() + ":" + UUID.randomUUID();
+    }
+
+    /**
+     * Try to take (or renew) the named lease for the given duration
+     */
+    public boolean tryAcquire(String name, Duration duration) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!leaseRepository.existsById(name)) {
+            try {
+                leaseRepository.saveAndFlush(new SchedulerLease(name, null, now.minusSeconds(1)));
+            } catch (DataIntegrityViolationException e) {
+                // another replica created the row first; fall through to the update
+                log.debug("Lease {} was created concurrently", name);
+            }
+        }
+        return leaseRepository.tryAcquire(name, nodeId, now, now.plus(duration)) == 1;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown-host";
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.charginghive.booking.service;
+
+import com.charginghive.booking.dto.TimeSlotDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Interval arithmetic over booked slots. Slots are half-open [start, end), so a booking
+ * ending at 10:00 does not clash with one starting at 10:00.
+ */
+public final class TimeSlots {
+
+    private TimeSlots() {
+    }
+
+    /**
+     * Whether any of the slots overlaps [startTime, endTime)
+     */
+    public static boolean overlaps(List<TimeSlotDto> slots, LocalDateTime startTime, LocalDateTime endTime) {
+        for (TimeSlotDto slot : slots) {
+            if (slot.getStartTime().isBefore(endTime) && slot.getEndTime().isAfter(startTime)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Free intervals within [from, to) given the booked slots sorted by start time.
+     * Booked slots may overlap each other or stick out of the range.
+     */
+    public static List<TimeSlotDto> freeSlots(List<TimeSlotDto> booked, LocalDateTime from, LocalDateTime to) {
+        List<TimeSlotDto> free = new ArrayList<>();
+        if (!from.isBefore(to)) {
+            return free;
+        }
+        LocalDateTime cursor = from;
+        for (TimeSlotDto slot : booked) {
+            if (!slot.getEndTime().isAfter(cursor)) {
+                continue;
+            }
+            if (!slot.getStartTime().isBefore(to)) {
+                break;
+            }
+            if (slot.getStartTime().isAfter(cursor)) {
+                free.add(new TimeSlotDto(cursor, slot.getStartTime()));
+            }
+            cursor = slot.getEndTime();
+            if (!cursor.isBefore(to)) {
+                return free;
+            }
+        }
+        free.add(new TimeSlotDto(cursor, to));
+        return free;
+    }
+}
@@ -0,0 +1,81 @@
+package com.charginghive.booking.dto;
+
+import com.charginghive.booking.exception.BookingException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BookingCursorTest {
+
+    private static BookingResponseDto row(long id, LocalDateTime createdAt) {
+        BookingResponseDto dto = new BookingResponseDto();
+        dto.setId(id);
+        dto.setCreatedAt(createdAt);
+        return dto;
+    }
+
+    private static List<BookingResponseDto> page(int size, LocalDateTime lastCreatedAt, long lastId) {
+        List<BookingResponseDto> page = new ArrayList<>();
+        for (int i = 0; i < size - 1; i++) {
+            page.add(row(lastId + size - i, lastCreatedAt.plusMinutes(size - i)));
+        }
+        page.add(row(lastId, lastCreatedAt));
+        return page;
+    }
+
+    @Test
+    void nextCursorRoundTripsThroughParse() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 15, 10, 0, 7, 123_456_000);
+        String cursor = BookingCursor.next(page(3, createdAt, 42), 3);
+
+        assertEquals("2024-01-15T10:00:07.123456_42", cursor);
+        assertEquals(new BookingCursor(createdAt, 42L), BookingCursor.parse(cursor));
+    }
+
+    @Test
+    void wholeMinuteTimestampsRoundTrip() {
+        // LocalDateTime.toString drops zero seconds, parse must still accept it
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 15, 10, 0);
+        String cursor = BookingCursor.next(page(2, createdAt, 7), 2);
+
+        assertEquals("2024-01-15T10:00_7", cursor);
+        assertEquals(new BookingCursor(createdAt, 7L), BookingCursor.parse(cursor));
+    }
+
+    @Test
+    void shortOrEmptyPageHasNoNextCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 15, 10, 0);
+        assertNull(BookingCursor.next(List.of(), 20));
+        assertNull(BookingCursor.next(page(19, createdAt, 1), 20));
+    }
+
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertNull(BookingCursor.parse(null));
+        assertNull(BookingCursor.parse(""));
+        assertNull(BookingCursor.parse("  "));
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertThrows(BookingException.class, () -> BookingCursor.parse("garbage"));
+        assertThrows(BookingException.class, () -> BookingCursor.parse("2024-01-15T10:00:00"));
+        assertThrows(BookingException.class, () -> BookingCursor.parse("2024-01-15T10:00:00_"));
+        assertThrows(BookingException.class, () -> BookingCursor.parse("2024-01-15T10:00:00_abc"));
+        assertThrows(BookingException.class, () -> BookingCursor.parse("2024-13-15T10:00:00_1"));
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        assertEquals(1, BookingCursor.clampSize(0));
+        assertEquals(1, BookingCursor.clampSize(-5));
+        assertEquals(50, BookingCursor.clampSize(50));
+        assertEquals(200, BookingCursor.clampSize(10_000));
+    }
+}
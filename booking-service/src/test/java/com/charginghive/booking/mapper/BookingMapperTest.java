@@ -0,0 +1,77 @@
+package com.charginghive.booking.mapper;
+
+import com.charginghive.booking.dto.BookingResponseDto;
+import com.charginghive.booking.entity.Booking;
+import com.charginghive.booking.entity.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.Conditions;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BookingMapperTest {
+
+    private final ObjectMapper json = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    // configured like the modelMapper bean in BookingServiceApplication
+    private static ModelMapper modelMapper() {
+        ModelMapper mapper = new ModelMapper();
+        mapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.STRICT)
+                .setPropertyCondition(Conditions.isNotNull());
+        return mapper;
+    }
+
+    private static Booking booking() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 1, 10, 0);
+        return Booking.builder()
+                .id(42L)
+                .userId(7L)
+                .stationId(3L)
+                .portId(11L)
+                .startTime(start)
+                .endTime(start.plusMinutes(90))
+                .totalCost(27.5)
+                .status(Status.BOOKED)
+                .createdAt(start.minusDays(1))
+                .build();
+    }
+
+    @Test
+    void producesTheSameJsonAsModelMapper() throws Exception {
+        Booking booking = booking();
+
+        String expected = json.writeValueAsString(modelMapper().map(booking, BookingResponseDto.class));
+        String actual = json.writeValueAsString(BookingMapper.toResponseDto(booking));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void nullPropertiesMatchModelMapper() throws Exception {
+        Booking booking = new Booking();
+        booking.setId(1L);
+
+        String expected = json.writeValueAsString(modelMapper().map(booking, BookingResponseDto.class));
+        String actual = json.writeValueAsString(BookingMapper.toResponseDto(booking));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void leavesStationAndPortDetailsEmpty() {
+        BookingResponseDto dto = BookingMapper.toResponseDto(booking());
+
+        assertEquals(90, dto.getDuration());
+        assertNull(dto.getStationName());
+        assertNull(dto.getStationAddress());
+        assertNull(dto.getConnectorType());
+        assertNull(dto.getMaxPowerKw());
+    }
+}
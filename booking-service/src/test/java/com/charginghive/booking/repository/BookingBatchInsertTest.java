@@ -0,0 +1,91 @@
+package com.charginghive.booking.repository;
+
+import com.charginghive.booking.entity.Booking;
+import com.charginghive.booking.entity.Status;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that saveAll sends bookings as JDBC batches: pooled ids need one sequence call per
+ * 50 bookings and the inserts reuse one prepared statement per batch, instead of one
+ * statement per booking as with IDENTITY ids.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class BookingBatchInsertTest {
+
+    // must match hibernate.jdbc.batch_size and the allocationSize of Booking.id
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    private static List<Booking> bookings(int count) {
+        List<Booking> bookings = new ArrayList<>(count);
+        LocalDateTime start = LocalDateTime.of(2026, 3, 1, 8, 0);
+        for (int i = 0; i < count; i++) {
+            bookings.add(Booking.builder().userId(1L + i % 10).stationId(1L).portId(1L + i % 4)
+                    .startTime(start.plusHours(i)).endTime(start.plusHours(i + 1))
+                    .totalCost(12.5).status(Status.BOOKED).build());
+        }
+        return bookings;
+    }
+
+    // statements prepared to insert the bookings
+    private long insert(int count) {
+        statistics.clear();
+        bookingRepository.saveAllAndFlush(bookings(count));
+        entityManager.clear();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void saveAllInsertsInBatches() {
+        int count = 500;
+        long statements = insert(count);
+
+        assertEquals(count, statistics.getEntityInsertCount());
+        // one sequence call and one insert statement per block of 50, plus the block already open
+        assertTrue(statements <= 2L * (count / BATCH_SIZE) + 2,
+                "expected batched inserts, got " + statements + " statements for " + count + " bookings");
+    }
+
+    @Test
+    void pooledIdsAreUniqueAndAscending() {
+        List<Booking> saved = bookingRepository.saveAllAndFlush(bookings(120));
+
+        for (int i = 1; i < saved.size(); i++) {
+            assertTrue(saved.get(i).getId() > saved.get(i - 1).getId());
+        }
+    }
+}
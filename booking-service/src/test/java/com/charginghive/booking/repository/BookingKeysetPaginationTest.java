@@ -0,0 +1,86 @@
+package com.charginghive.booking.repository;
+
+import com.charginghive.booking.dto.BookingCursor;
+import com.charginghive.booking.entity.Booking;
+import com.charginghive.booking.entity.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Walks the NEWEST_FIRST keyset pages over bookings that share createdAt values, to check
+ * that the id tie-breaker neither skips nor repeats rows at a page boundary.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class BookingKeysetPaginationTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void pagesOverTiedTimestampsVisitEveryBookingOnce() {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            bookings.add(Booking.builder().userId(1L).stationId(1L).portId(1L)
+                    .startTime(LocalDateTime.of(2026, 3, 1, 8, 0).plusHours(i))
+                    .endTime(LocalDateTime.of(2026, 3, 1, 9, 0).plusHours(i))
+                    .totalCost(5.0).status(Status.BOOKED).build());
+        }
+        List<Long> ids = bookingRepository.saveAllAndFlush(bookings).stream().map(Booking::getId).toList();
+        // three groups of equal createdAt, so several page boundaries fall inside a tie
+        for (int i = 0; i < ids.size(); i++) {
+            jdbcTemplate.update("UPDATE bookings SET created_at = ? WHERE id = ?",
+                    Timestamp.valueOf(LocalDateTime.of(2026, 3, 1, 12, 0).plusMinutes(i / 8)), ids.get(i));
+        }
+        // the managed entities still carry the old createdAt
+        entityManager.clear();
+
+        List<Long> visited = new ArrayList<>();
+        BookingCursor cursor = null;
+        int pageSize = 5;
+        // bounded so a broken cursor fails the assertion instead of looping forever
+        for (int pages = 0; pages < 10; pages++) {
+            Specification<Booking> spec = BookingSpecifications.all();
+            if (cursor != null) {
+                spec = spec.and(BookingSpecifications.before(cursor));
+            }
+            List<Booking> page = bookingRepository.findBy(spec,
+                    q -> q.sortBy(BookingSpecifications.NEWEST_FIRST).limit(pageSize).all());
+            page.forEach(b -> visited.add(b.getId()));
+            if (page.size() < pageSize) {
+                break;
+            }
+            Booking last = page.get(page.size() - 1);
+            cursor = new BookingCursor(last.getCreatedAt(), last.getId());
+        }
+
+        List<Long> expected = new ArrayList<>(ids);
+        // newest group first, highest id first within a group
+        expected.sort((a, b) -> {
+            int groupA = ids.indexOf(a) / 8;
+            int groupB = ids.indexOf(b) / 8;
+            return groupA != groupB ? Integer.compare(groupB, groupA) : Long.compare(b, a);
+        });
+        assertEquals(expected, visited);
+    }
+}
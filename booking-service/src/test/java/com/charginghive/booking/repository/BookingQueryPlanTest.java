@@ -0,0 +1,113 @@
+package com.charginghive.booking.repository;
+
+import com.charginghive.booking.entity.Booking;
+import com.charginghive.booking.entity.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Guards the bookings indexes: checks they exist with the declared column order and that
+ * H2's planner picks one for each hot query instead of scanning the table. H2 is only a
+ * stand-in for MySQL, but a query that loses its index here has lost it there too.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class BookingQueryPlanTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        LocalDateTime base = LocalDateTime.of(2026, 3, 1, 8, 0);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            LocalDateTime start = base.plusMinutes(30L * i);
+            bookings.add(Booking.builder()
+                    .userId((long) (i % 100))
+                    .stationId((long) (i % 40))
+                    .portId((long) (i % 200))
+                    .startTime(start)
+                    .endTime(start.plusHours(1))
+                    .totalCost(10.0)
+                    .status(Status.values()[i % Status.values().length])
+                    .build());
+        }
+        bookingRepository.saveAllAndFlush(bookings);
+    }
+
+    @Test
+    void declaredIndexesExistWithTheirColumnOrder() {
+        assertIndex("IDX_BOOKINGS_PORT_STATUS_TIME", "PORT_ID", "STATUS", "START_TIME", "END_TIME");
+        assertIndex("IDX_BOOKINGS_STATUS_END", "STATUS", "END_TIME");
+        assertIndex("IDX_BOOKINGS_USER_CREATED", "USER_ID", "CREATED_AT", "ID");
+        assertIndex("IDX_BOOKINGS_STATION_CREATED", "STATION_ID", "CREATED_AT", "ID");
+        assertIndex("IDX_BOOKINGS_STATION_STATUS", "STATION_ID", "STATUS");
+        assertIndex("IDX_BOOKINGS_STATUS_CREATED", "STATUS", "CREATED_AT", "ID");
+        assertIndex("IDX_BOOKINGS_CREATED", "CREATED_AT", "ID");
+        assertIndex("IDX_BOOKINGS_START", "START_TIME");
+    }
+
+    @Test
+    void portConflictCheckUsesThePortIndex() {
+        assertPlanUses("IDX_BOOKINGS_PORT_STATUS_TIME",
+                "SELECT id FROM bookings WHERE port_id = 5 AND status = 'BOOKED' " +
+                "AND start_time < TIMESTAMP '2026-03-02 10:00:00' AND end_time > TIMESTAMP '2026-03-02 09:00:00'");
+    }
+
+    @Test
+    void expirySweepUsesTheStatusEndIndex() {
+        assertPlanUses("IDX_BOOKINGS_STATUS_END",
+                "SELECT id FROM bookings WHERE status = 'BOOKED' AND end_time < TIMESTAMP '2026-03-02 10:00:00'");
+    }
+
+    @Test
+    void userPageUsesTheUserIndex() {
+        assertPlanUses("IDX_BOOKINGS_USER_CREATED",
+                "SELECT id FROM bookings WHERE user_id = 7 ORDER BY created_at DESC, id DESC LIMIT 20");
+    }
+
+    @Test
+    void stationEarningsUseAStationIndex() {
+        assertPlanUses("IDX_BOOKINGS_STATION_",
+                "SELECT SUM(total_cost) FROM bookings WHERE station_id = 3 AND status = 'COMPLETED'");
+    }
+
+    @Test
+    void dateRangeListingUsesTheStartIndex() {
+        assertPlanUses("IDX_BOOKINGS_START",
+                "SELECT id FROM bookings WHERE start_time >= TIMESTAMP '2026-03-02 00:00:00' " +
+                "AND start_time <= TIMESTAMP '2026-03-03 00:00:00' ORDER BY start_time");
+    }
+
+    private void assertIndex(String indexName, String... columns) {
+        List<String> actual = jdbcTemplate.queryForList(
+                "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS " +
+                "WHERE TABLE_NAME = 'BOOKINGS' AND INDEX_NAME = ? ORDER BY ORDINAL_POSITION",
+                String.class, indexName);
+        assertEquals(List.of(columns), actual, "columns of " + indexName);
+    }
+
+    private void assertPlanUses(String indexPrefix, String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        assertFalse(plan.contains("tableScan"), () -> "full scan for: " + sql + "\n" + plan);
+        assertTrue(plan.contains(indexPrefix), () -> "expected " + indexPrefix + " for: " + sql + "\n" + plan);
+    }
+}
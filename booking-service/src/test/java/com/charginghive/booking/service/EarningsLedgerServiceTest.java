@@ -0,0 +1,161 @@
+package com.charginghive.booking.service;
+
+import com.charginghive.booking.dto.EarningResponseDto;
+import com.charginghive.booking.entity.Booking;
+import com.charginghive.booking.entity.StationEarning;
+import com.charginghive.booking.entity.StationEarningId;
+import com.charginghive.booking.entity.Status;
+import com.charginghive.booking.repository.StationEarningRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class EarningsLedgerServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+
+    private StationEarningRepository repository;
+    private PlatformTransactionManager transactionManager;
+    private EarningsLedgerService ledger;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(StationEarningRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        ledger = new EarningsLedgerService(repository, mock(SchedulerLeaseService.class), transactionManager);
+    }
+
+    private static Booking booking(long stationId, LocalDate day, Status status, double cost) {
+        return Booking.builder()
+                .stationId(stationId)
+                .portId(1L)
+                .startTime(day.atTime(10, 0))
+                .endTime(day.atTime(11, 0))
+                .duration(60)
+                .totalCost(cost)
+                .status(status)
+                .build();
+    }
+
+    @Test
+    void createdBookingAddsToBookedTotals() {
+        ledger.recordCreated(booking(7, DAY, Status.BOOKED, 12.5));
+        verify(repository).addDelta(7L, DAY, 12.5, 1, 0, 0);
+    }
+
+    @Test
+    void batchOfBookingsTouchesEachStationDayOnce() {
+        ledger.recordCreated(List.of(
+                booking(7, DAY, Status.BOOKED, 10),
+                booking(7, DAY, Status.BOOKED, 5),
+                booking(7, DAY.plusDays(1), Status.BOOKED, 3),
+                booking(8, DAY, Status.BOOKED, 4)));
+
+        verify(repository).addDelta(7L, DAY, 15.0, 2, 0, 0);
+        verify(repository).addDelta(7L, DAY.plusDays(1), 3.0, 1, 0, 0);
+        verify(repository).addDelta(8L, DAY, 4.0, 1, 0, 0);
+        verify(repository, times(3)).addDelta(anyLong(), any(), anyDouble(), anyLong(), anyDouble(), anyLong());
+    }
+
+    @Test
+    void cancellingMovesTheBookingOutOfTheLedger() {
+        Booking booking = booking(7, DAY, Status.BOOKED, 10);
+        EarningsLedgerService.Entry before = EarningsLedgerService.Entry.of(booking);
+        booking.setStatus(Status.CANCELLED);
+
+        ledger.recordChanged(before, booking);
+
+        verify(repository).addDelta(7L, DAY, -10.0, -1, 0, 0);
+        verify(repository, times(1)).addDelta(anyLong(), any(), anyDouble(), anyLong(), anyDouble(), anyLong());
+    }
+
+    @Test
+    void completingMovesTheAmountFromBookedToCompleted() {
+        Booking booking = booking(7, DAY, Status.BOOKED, 10);
+        EarningsLedgerService.Entry before = EarningsLedgerService.Entry.of(booking);
+        booking.setStatus(Status.COMPLETED);
+
+        ledger.recordChanged(before, booking);
+
+        verify(repository).addDelta(7L, DAY, -10.0, -1, 0, 0);
+        verify(repository).addDelta(7L, DAY, 0, 0, 10.0, 1);
+    }
+
+    @Test
+    void movingToAnotherDayMovesTheRow() {
+        Booking booking = booking(7, DAY, Status.BOOKED, 10);
+        EarningsLedgerService.Entry before = EarningsLedgerService.Entry.of(booking);
+        booking.setStartTime(LocalDateTime.of(DAY.plusDays(2), booking.getStartTime().toLocalTime()));
+        booking.setTotalCost(12.0);
+
+        ledger.recordChanged(before, booking);
+
+        verify(repository).addDelta(7L, DAY, -10.0, -1, 0, 0);
+        verify(repository).addDelta(7L, DAY.plusDays(2), 12.0, 1, 0, 0);
+    }
+
+    @Test
+    void unchangedBookingIsNotWritten() {
+        Booking booking = booking(7, DAY, Status.BOOKED, 10);
+        ledger.recordChanged(EarningsLedgerService.Entry.of(booking), booking);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void bulkCompletionIsGroupedPerStationDay() {
+        ledger.recordCompleted(List.of(
+                booking(7, DAY, Status.BOOKED, 10),
+                booking(7, DAY, Status.BOOKED, 6)));
+
+        verify(repository).addDelta(7L, DAY, -16.0, -2, 16.0, 2);
+    }
+
+    @Test
+    void rangeEarningsAreSummedFromDailyRows() {
+        when(repository.findDaily(7L, DAY, DAY.plusDays(1))).thenReturn(List.of(
+                new StationEarning(new StationEarningId(7L, DAY), 10, 1, 20, 2),
+                new StationEarning(new StationEarningId(7L, DAY.plusDays(1)), 5, 1, 0, 0)));
+
+        EarningResponseDto earnings = ledger.getEarnings(7L, DAY, DAY.plusDays(1));
+
+        assertEquals(15.0, earnings.getTotalEarning());
+        assertEquals(20.0, earnings.getCompletedEarning());
+        verify(repository, never()).sumBookedAmount(any());
+    }
+
+    @Test
+    void rebuildRecomputesOneStationPerTransaction() {
+        when(repository.findLedgerStationIds()).thenReturn(List.of(3L, 7L));
+        when(repository.rebuildStation(3L)).thenReturn(4);
+        when(repository.rebuildStation(7L)).thenReturn(0);
+
+        assertEquals(4, ledger.rebuild());
+
+        InOrder order = inOrder(transactionManager, repository);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(repository).deleteByStation(3L);
+        order.verify(repository).rebuildStation(3L);
+        order.verify(transactionManager).commit(any());
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(repository).deleteByStation(7L);
+        order.verify(repository).rebuildStation(7L);
+        order.verify(transactionManager).commit(any());
+    }
+}
@@ -0,0 +1,154 @@
+package com.charginghive.booking.service;
+
+import com.charginghive.booking.dto.TimeSlotDto;
+import com.charginghive.booking.entity.Booking;
+import com.charginghive.booking.entity.Status;
+import com.charginghive.booking.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PortAvailabilityIndexTest {
+
+    private static final long PORT = 7L;
+    private static final LocalDateTime TOMORROW = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+
+    private BookingRepository repository;
+    private PortAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(BookingRepository.class);
+        index = new PortAvailabilityIndex(repository, Duration.ofMinutes(1));
+    }
+
+    private static LocalDateTime at(int hour) {
+        return TOMORROW.plusHours(hour);
+    }
+
+    private static Booking booking(long id, long portId, int fromHour, int toHour, Status status) {
+        return Booking.builder().id(id).portId(portId).stationId(1L).userId(1L)
+                .startTime(at(fromHour)).endTime(at(toHour)).status(status).build();
+    }
+
+    private void loadWith(Booking... bookings) {
+        when(repository.findByStatusAndEndTimeAfter(eq(Status.BOOKED), any())).thenReturn(List.of(bookings));
+        index.resync();
+    }
+
+    @Test
+    void notReadyUntilLoaded() {
+        assertFalse(index.isReady());
+        index.refresh();
+        verify(repository, never()).findByUpdatedAtGreaterThanEqual(any());
+
+        loadWith();
+        assertTrue(index.isReady());
+    }
+
+    @Test
+    void overlapTreatsSlotsAsHalfOpen() {
+        loadWith(booking(1, PORT, 10, 12, Status.BOOKED));
+
+        assertTrue(index.overlaps(PORT, at(11), at(13)));
+        assertTrue(index.overlaps(PORT, at(9), at(14)));
+        assertFalse(index.overlaps(PORT, at(12), at(13)));
+        assertFalse(index.overlaps(PORT, at(8), at(10)));
+        assertFalse(index.overlaps(PORT + 1, at(10), at(12)));
+    }
+
+    @Test
+    void bookedIntervalsComeBackInStartOrder() {
+        loadWith(booking(2, PORT, 14, 15, Status.BOOKED), booking(1, PORT, 10, 12, Status.BOOKED),
+                booking(3, PORT, 20, 22, Status.BOOKED));
+
+        List<TimeSlotDto> booked = index.bookedIntervals(PORT, at(11), at(16));
+
+        assertEquals(List.of(new TimeSlotDto(at(10), at(12)), new TimeSlotDto(at(14), at(15))), booked);
+        assertEquals(List.of(new TimeSlotDto(at(12), at(14)), new TimeSlotDto(at(15), at(16))),
+                TimeSlots.freeSlots(booked, at(11), at(16)));
+    }
+
+    @Test
+    void localWritesApplyStraightAway() {
+        loadWith();
+
+        index.put(booking(1, PORT, 10, 12, Status.BOOKED));
+        assertTrue(index.overlaps(PORT, at(11), at(12)));
+
+        // moved to a later slot
+        index.put(booking(1, PORT, 15, 16, Status.BOOKED));
+        assertFalse(index.overlaps(PORT, at(11), at(12)));
+        assertTrue(index.overlaps(PORT, at(15), at(16)));
+
+        index.put(booking(1, PORT, 15, 16, Status.CANCELLED));
+        assertFalse(index.overlaps(PORT, at(15), at(16)));
+    }
+
+    @Test
+    void refreshPicksUpWritesFromOtherReplicas() {
+        loadWith(booking(1, PORT, 10, 12, Status.BOOKED));
+        when(repository.findByUpdatedAtGreaterThanEqual(any()))
+                .thenReturn(List.of(booking(1, PORT, 10, 12, Status.CANCELLED), booking(2, PORT, 13, 14, Status.BOOKED)));
+
+        index.refresh();
+
+        assertFalse(index.overlaps(PORT, at(10), at(12)));
+        assertTrue(index.overlaps(PORT, at(13), at(14)));
+    }
+
+    @Test
+    void refreshDropsEndedReservations() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking ended = Booking.builder().id(1L).portId(PORT).status(Status.BOOKED)
+                .startTime(now.minusHours(2)).endTime(now.minusHours(1)).build();
+        loadWith();
+        index.put(ended);
+        when(repository.findByUpdatedAtGreaterThanEqual(any())).thenReturn(List.of());
+
+        index.refresh();
+
+        assertFalse(index.overlaps(PORT, now.minusHours(2), now.minusHours(1)));
+    }
+
+    @Test
+    void resyncDropsReservationsNoLongerBooked() {
+        loadWith(booking(1, PORT, 10, 12, Status.BOOKED), booking(2, PORT, 13, 14, Status.BOOKED));
+
+        loadWith(booking(2, PORT, 13, 14, Status.BOOKED));
+
+        assertFalse(index.overlaps(PORT, at(10), at(12)));
+        assertTrue(index.overlaps(PORT, at(13), at(14)));
+    }
+
+    @Test
+    void failedResyncKeepsThePreviousState() {
+        loadWith(booking(1, PORT, 10, 12, Status.BOOKED));
+        when(repository.findByStatusAndEndTimeAfter(eq(Status.BOOKED), any())).thenThrow(new IllegalStateException("db down"));
+
+        index.resync();
+
+        assertTrue(index.isReady());
+        assertTrue(index.overlaps(PORT, at(10), at(12)));
+    }
+
+    @Test
+    void bookingsLongerThanADayAreStillFound() {
+        loadWith(booking(1, PORT, 0, 30, Status.BOOKED));
+
+        assertTrue(index.overlaps(PORT, at(29), at(31)));
+    }
+}
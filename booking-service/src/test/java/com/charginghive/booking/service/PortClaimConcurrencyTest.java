@@ -0,0 +1,157 @@
+package com.charginghive.booking.service;
+
+import com.charginghive.booking.entity.Booking;
+import com.charginghive.booking.entity.PortLock;
+import com.charginghive.booking.entity.Status;
+import com.charginghive.booking.exception.BookingException;
+import com.charginghive.booking.repository.BookingRepository;
+import com.charginghive.booking.repository.PortLockRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Races transactions booking the same port against each other through PortClaimService and
+ * checks that no two BOOKED bookings overlap. Runs on H2 in MySQL mode, which has the
+ * ON DUPLICATE KEY UPDATE upsert and row locks held to commit; lock rows are created up
+ * front because H2, unlike MySQL, may fail two first-time inserts of the same key.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:portclaims;MODE=MySQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+@Import(PortClaimService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PortClaimConcurrencyTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 1, 0, 0);
+    private static final int THREADS = 16;
+
+    @Autowired
+    private PortClaimService portClaims;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PortLockRepository portLockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAllInBatch();
+        portLockRepository.deleteAllInBatch();
+    }
+
+    private void createLockRows(long... portIds) {
+        for (long portId : portIds) {
+            portLockRepository.save(new PortLock(portId, 0));
+        }
+    }
+
+    // one transaction: claim the port, then save the booking
+    private boolean book(long portId, LocalDateTime start, int minutes) {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                portClaims.claim(portId, start, start.plusMinutes(minutes), null);
+                bookingRepository.save(Booking.builder().userId(1L).stationId(1L).portId(portId)
+                        .startTime(start).endTime(start.plusMinutes(minutes))
+                        .totalCost(5.0).status(Status.BOOKED).build());
+            });
+            return true;
+        } catch (BookingException e) {
+            return false;
+        }
+    }
+
+    // runs `attempts` bookings spread over THREADS threads that start together; returns the successes
+    private int race(int attempts, IntFunction<Boolean> attempt) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            int n = i;
+            futures.add(pool.submit(() -> {
+                start.await();
+                if (attempt.apply(n)) {
+                    succeeded.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        return succeeded.get();
+    }
+
+    private void assertNoOverlaps(long portId) {
+        List<Booking> booked = bookingRepository.findAll().stream()
+                .filter(b -> b.getPortId() == portId && b.getStatus() == Status.BOOKED)
+                .toList();
+        for (int i = 0; i < booked.size(); i++) {
+            for (int j = i + 1; j < booked.size(); j++) {
+                Booking a = booked.get(i);
+                Booking b = booked.get(j);
+                assertFalse(a.getStartTime().isBefore(b.getEndTime()) && b.getStartTime().isBefore(a.getEndTime()),
+                        "bookings " + a.getId() + " and " + b.getId() + " overlap");
+            }
+        }
+    }
+
+    @Test
+    void onlyOneOfManyRequestsForTheSameSlotWins() throws Exception {
+        createLockRows(1);
+
+        int succeeded = race(THREADS * 4, n -> book(1, DAY.plusHours(10), 60));
+
+        assertEquals(1, succeeded);
+        assertEquals(1, bookingRepository.count());
+    }
+
+    @Test
+    void overlappingRequestsNeverProduceOverlappingBookings() throws Exception {
+        createLockRows(1);
+
+        // hour-long requests starting every 15 minutes: each overlaps its three neighbours
+        int succeeded = race(THREADS * 8, n -> book(1, DAY.plusMinutes(15L * n), 60));
+
+        // a winner blocks at most itself and the three starts on either side
+        assertTrue(succeeded >= THREADS * 8 / 7, "only " + succeeded + " requests succeeded");
+        assertEquals(succeeded, bookingRepository.count());
+        assertNoOverlaps(1);
+    }
+}
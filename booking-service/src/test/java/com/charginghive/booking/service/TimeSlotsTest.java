@@ -0,0 +1,89 @@
+package com.charginghive.booking.service;
+
+import com.charginghive.booking.dto.TimeSlotDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeSlotsTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 1, 0, 0);
+
+    private static LocalDateTime at(int hour) {
+        return DAY.plusHours(hour);
+    }
+
+    private static TimeSlotDto slot(int fromHour, int toHour) {
+        return new TimeSlotDto(at(fromHour), at(toHour));
+    }
+
+    @Test
+    void touchingSlotsDoNotOverlap() {
+        List<TimeSlotDto> booked = List.of(slot(10, 12));
+        assertFalse(TimeSlots.overlaps(booked, at(12), at(13)));
+        assertFalse(TimeSlots.overlaps(booked, at(8), at(10)));
+    }
+
+    @Test
+    void partialAndEnclosingSlotsOverlap() {
+        List<TimeSlotDto> booked = List.of(slot(10, 12));
+        assertTrue(TimeSlots.overlaps(booked, at(11), at(13)));
+        assertTrue(TimeSlots.overlaps(booked, at(9), at(11)));
+        assertTrue(TimeSlots.overlaps(booked, at(10), at(12)));
+        assertTrue(TimeSlots.overlaps(booked, at(10), at(11)));
+        assertTrue(TimeSlots.overlaps(booked, at(8), at(14)));
+    }
+
+    @Test
+    void noBookingsLeavesTheWholeRangeFree() {
+        assertEquals(List.of(slot(8, 18)), TimeSlots.freeSlots(List.of(), at(8), at(18)));
+    }
+
+    @Test
+    void emptyOrInvertedRangeHasNoFreeSlots() {
+        assertEquals(List.of(), TimeSlots.freeSlots(List.of(), at(8), at(8)));
+        assertEquals(List.of(), TimeSlots.freeSlots(List.of(), at(9), at(8)));
+    }
+
+    @Test
+    void gapsBetweenBookingsAreFree() {
+        List<TimeSlotDto> booked = List.of(slot(9, 10), slot(12, 13));
+        assertEquals(List.of(slot(8, 9), slot(10, 12), slot(13, 18)),
+                TimeSlots.freeSlots(booked, at(8), at(18)));
+    }
+
+    @Test
+    void bookingsStickingOutOfTheRangeAreClipped() {
+        List<TimeSlotDto> booked = List.of(slot(6, 9), slot(17, 20));
+        assertEquals(List.of(slot(9, 17)), TimeSlots.freeSlots(booked, at(8), at(18)));
+    }
+
+    @Test
+    void backToBackBookingsLeaveNoGap() {
+        List<TimeSlotDto> booked = List.of(slot(9, 10), slot(10, 11));
+        assertEquals(List.of(slot(8, 9), slot(11, 18)), TimeSlots.freeSlots(booked, at(8), at(18)));
+    }
+
+    @Test
+    void overlappingAndNestedBookingsAreMerged() {
+        List<TimeSlotDto> booked = List.of(slot(9, 14), slot(10, 11), slot(13, 15));
+        assertEquals(List.of(slot(8, 9), slot(15, 18)), TimeSlots.freeSlots(booked, at(8), at(18)));
+    }
+
+    @Test
+    void fullyBookedRangeHasNoFreeSlots() {
+        assertEquals(List.of(), TimeSlots.freeSlots(List.of(slot(7, 19)), at(8), at(18)));
+        assertEquals(List.of(), TimeSlots.freeSlots(List.of(slot(8, 12), slot(12, 18)), at(8), at(18)));
+    }
+
+    @Test
+    void bookingsOutsideTheRangeAreIgnored() {
+        List<TimeSlotDto> booked = List.of(slot(2, 5), slot(19, 21));
+        assertEquals(List.of(slot(8, 18)), TimeSlots.freeSlots(booked, at(8), at(18)));
+    }
+}
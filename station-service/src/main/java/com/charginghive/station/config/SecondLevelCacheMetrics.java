@@ -0,0 +1,58 @@
+package com.charginghive.station.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Hit ratio gauges for the Hibernate second-level cache regions, read from Hibernate
+ * statistics (hibernate.generate_statistics must be on).
+ */
+@Component
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    // regions declared in application.conf
+    private static final List<String> REGIONS = List.of("station");
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : REGIONS) {
+            Gauge.builder("station.cache.l2.hit.ratio", statistics, stats -> regionHitRatio(stats, region))
+                    .tag("region", region)
+                    .description("Second-level cache hit ratio since startup")
+                    .register(registry);
+        }
+    }
+
+    private static double regionHitRatio(Statistics stats, String region) {
+        // a region only exists once Hibernate has built it
+        CacheRegionStatistics regionStats;
+        try {
+            regionStats = stats.getCacheRegionStatistics(region);
+        } catch (IllegalArgumentException e) {
+            return Double.NaN;
+        }
+        if (regionStats == null) {
+            return Double.NaN;
+        }
+        return ratio(regionStats.getHitCount(), regionStats.getMissCount());
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? Double.NaN : (double) hits / total;
+    }
+}
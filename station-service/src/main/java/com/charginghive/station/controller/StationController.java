@@ -95,6 +95,11 @@ public class StationController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/stats")
+    public ResponseEntity<StationStatsDto> stats() {
+        return ResponseEntity.ok(stationService.getStationStats());
+    }
+
     //to get unapproved stations
     @GetMapping("/unapproved")
     public ResponseEntity<List<StationDto>> getUnapprovedStations() {
@@ -105,8 +110,10 @@ public class StationController {
     @GetMapping("/search")
     public ResponseEntity<List<StationDto>> searchStations(@RequestParam(required = false) String query,
                                                            @RequestParam(required = false) String city,
-                                                           @RequestParam(required = false) Boolean available) {
-        return ResponseEntity.ok(stationService.searchStations(query, city,available));
+                                                           @RequestParam(required = false) Boolean available,
+                                                           @RequestParam(required = false) Long afterId,
+                                                           @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(stationService.searchStations(query, city, available, afterId, size));
     }
 
     // nearby
@@ -117,13 +124,36 @@ public class StationController {
         return ResponseEntity.ok(stationService.findNearby(lat, lng, radiusKm));
     }
 
+    // k nearest approved stations
+    @GetMapping("/nearest")
+    public ResponseEntity<List<StationDto>> nearest(@RequestParam double lat,
+                                                    @RequestParam double lng,
+                                                    @RequestParam(defaultValue = "10") int k) {
+        return ResponseEntity.ok(stationService.findNearest(lat, lng, k));
+    }
+
     // availability
     @GetMapping("/{stationId}/availability")
-    public ResponseEntity<List<String>> availability(@PathVariable Long stationId,
-                                                     @RequestParam String date) {
+    public ResponseEntity<StationAvailabilityDto> availability(@PathVariable Long stationId,
+                                                               @RequestParam String date) {
         return ResponseEntity.ok(stationService.getAvailability(stationId, date));
     }
 
+    // availability for each day of a date range, both ends inclusive
+    @GetMapping("/{stationId}/availability/range")
+    public ResponseEntity<List<StationAvailabilityDto>> availabilityRange(@PathVariable Long stationId,
+                                                                          @RequestParam String from,
+                                                                          @RequestParam String to) {
+        return ResponseEntity.ok(stationService.getAvailability(stationId, from, to));
+    }
+
+    // drop cached availability - called by booking service when a booking of the station changes
+    @DeleteMapping("/{stationId}/availability/cache")
+    public ResponseEntity<Void> evictAvailability(@PathVariable Long stationId) {
+        stationService.evictAvailability(stationId);
+        return ResponseEntity.noContent().build();
+    }
+
     // --- Endpoints for Booking Service Integration ---
 
     /**
@@ -146,6 +176,15 @@ public class StationController {
         return ResponseEntity.ok(portInfo);
     }
 
+    /**
+     * Get several stations (with ports) by id in one call - required by booking service
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<StationDto>> getStationsByIds(@RequestBody List<Long> stationIds) {
+        log.info("Getting {} stations in batch", stationIds.size());
+        return ResponseEntity.ok(stationService.getStationsByIds(stationIds));
+    }
+
     /**
      * Get approved stations only - for booking service to show available stations
      */
@@ -0,0 +1,15 @@
+package com.charginghive.station.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookedIntervalDto {
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,15 @@
+package com.charginghive.station.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PortAvailabilityDto {
+    private Long portId;
+    private String connectorType;
+    // bit i set = slot i of the day is free; 48 half-hour slots fit safely in a JSON number
+    private long freeSlots;
+}
@@ -0,0 +1,19 @@
+package com.charginghive.station.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StationAvailabilityDto {
+    private Long stationId;
+    private LocalDate date;
+    private int slotMinutes;
+    private int slotCount;
+    private List<PortAvailabilityDto> ports;
+}
@@ -0,0 +1,14 @@
+package com.charginghive.station.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StationStatsDto {
+    private long totalStations;
+    private long approvedStations;
+    private long pendingStations;
+}
@@ -0,0 +1,45 @@
+package com.charginghive.station.mapper;
+
+import com.charginghive.station.dto.StationDto;
+import com.charginghive.station.dto.StationPortDto;
+import com.charginghive.station.model.Station;
+import com.charginghive.station.model.StationPort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain-Java entity to DTO mapping for stations and ports, used on read paths in place
+ * of reflective ModelMapper calls. Produces the same DTOs the global ModelMapper did.
+ */
+public final class StationMapper {
+
+    private StationMapper() {
+    }
+
+    public static StationDto toDto(Station station) {
+        StationDto dto = new StationDto();
+        dto.setId(station.getId());
+        dto.setName(station.getName());
+        dto.setAddress(station.getAddress());
+        dto.setCity(station.getCity());
+        dto.setState(station.getState());
+        dto.setLatitude(station.getLatitude());
+        dto.setLongitude(station.getLongitude());
+        dto.setPostalCode(station.getPostalCode());
+        dto.setApproved(station.isApproved());
+        dto.setOwnerId(station.getOwnerId());
+        if (station.getPorts() != null) {
+            List<StationPortDto> ports = new ArrayList<>(station.getPorts().size());
+            for (StationPort port : station.getPorts()) {
+                ports.add(toPortDto(port));
+            }
+            dto.setPorts(ports);
+        }
+        return dto;
+    }
+
+    public static StationPortDto toPortDto(StationPort port) {
+        return new StationPortDto(port.getId(), port.getConnectorType(), port.getMaxPowerKw(), port.getPricePerHour());
+    }
+}
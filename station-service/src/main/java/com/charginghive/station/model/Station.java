@@ -5,12 +5,24 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "stations")
+@Table(name = "stations", indexes = {
+        @Index(name = "idx_stations_city", columnList = "city"),
+        @Index(name = "idx_stations_owner", columnList = "ownerId"),
+        @Index(name = "idx_stations_approved", columnList = "isApproved"),
+        @Index(name = "idx_stations_updated_at", columnList = "updatedAt")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "station")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -57,7 +69,13 @@ public class Station {
     @Column(nullable = false)
     private Long ownerId;
 
+    // lets each replica find stations changed by the others since its in-memory indexes were built
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
     // A station can have multiple charging ports
+    // paged searches can't fetch-join a collection, so their ports are loaded in batches instead
     @OneToMany(mappedBy = "station", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     private Set<StationPort> ports = new HashSet<>();
 }
@@ -8,7 +8,10 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "station_ports")
+// (station_id, id) serves the per-station port lookups without touching the stations table
+@Table(name = "station_ports", indexes = @Index(name = "idx_station_ports_station", columnList = "station_id, id"))
+// not in the second-level cache: it is local to each replica, and a port's price has to
+// be current on every replica that booking-service may ask
 @Getter
 @Setter
 public class StationPort {
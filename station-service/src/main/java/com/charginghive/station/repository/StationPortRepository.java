@@ -1,9 +1,25 @@
 package com.charginghive.station.repository;
 
+import com.charginghive.station.dto.StationPortDto;
 import com.charginghive.station.model.StationPort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface StationPortRepository extends JpaRepository<StationPort, Long> {
+
+    // Single-row lookup for booking service, read straight into the DTO without loading the station.
+    // Not query-cached: the price must be current even when the port was changed on another replica.
+    @Query("SELECT new com.charginghive.station.dto.StationPortDto(p.id, p.connectorType, p.maxPowerKw, p.pricePerHour) " +
+           "FROM StationPort p WHERE p.station.id = :stationId AND p.id = :portId")
+    Optional<StationPortDto> findPortInfo(@Param("stationId") Long stationId, @Param("portId") Long portId);
+
+    @Query("SELECT new com.charginghive.station.dto.StationPortDto(p.id, p.connectorType, p.maxPowerKw, p.pricePerHour) " +
+           "FROM StationPort p WHERE p.station.id = :stationId")
+    List<StationPortDto> findPortInfoByStationId(@Param("stationId") Long stationId);
 }
@@ -1,10 +1,15 @@
 package com.charginghive.station.repository;
 
 import com.charginghive.station.model.Station;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor; // added for dynamic filtering
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,4 +17,30 @@ public interface StationRepository extends JpaRepository<Station, Long>, JpaSpec
     List<Station> findByIsApprovedFalse();
     List<Station> findByIsApprovedTrue();
     List<Station> findByOwnerId(Long ownerId);
+
+    // Station lists rendered with their ports load both in one query instead of one ports query per station
+    @EntityGraph(attributePaths = "ports")
+    @Query("SELECT s FROM Station s")
+    List<Station> findAllWithPorts();
+
+    @EntityGraph(attributePaths = "ports")
+    List<Station> findWithPortsByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "ports")
+    List<Station> findWithPortsByOwnerId(Long ownerId);
+
+    @EntityGraph(attributePaths = "ports")
+    List<Station> findWithPortsByIsApproved(boolean isApproved);
+
+    // stations written since a point in time, served from idx_stations_updated_at
+    List<Station> findByUpdatedAtGreaterThanEqual(LocalDateTime since);
+
+    // approved stations inside a lat/lng box, for nearby searches while the geo index is loading
+    @Query("SELECT s FROM Station s WHERE s.isApproved = true " +
+           "AND s.latitude BETWEEN :minLat AND :maxLat AND s.longitude BETWEEN :minLng AND :maxLng")
+    List<Station> findApprovedInBox(@Param("minLat") double minLat, @Param("maxLat") double maxLat,
+                                    @Param("minLng") double minLng, @Param("maxLng") double maxLng);
+
+    // COUNT queries for the admin dashboard, served from idx_stations_approved
+    long countByIsApproved(boolean isApproved);
 }
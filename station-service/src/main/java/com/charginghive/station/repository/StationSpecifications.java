@@ -0,0 +1,42 @@
+package com.charginghive.station.repository;
+
+import com.charginghive.station.model.Station;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+// reusable filters for StationRepository (JpaSpecificationExecutor)
+public final class StationSpecifications {
+
+    private StationSpecifications() {
+    }
+
+    public static Specification<Station> nameContains(String query) {
+        String pattern = "%" + query.toLowerCase() + "%";
+        return (root, cq, cb) -> cb.like(cb.lower(root.get("name")), pattern);
+    }
+
+    // plain equality so the city index is used; MySQL's default collation already ignores case
+    public static Specification<Station> cityEquals(String city) {
+        return (root, cq, cb) -> cb.equal(root.get("city"), city);
+    }
+
+    public static Specification<Station> hasPorts() {
+        return (root, cq, cb) -> cb.isNotEmpty(root.get("ports"));
+    }
+
+    // the given ids plus every station written at or after `since`
+    public static Specification<Station> idInOrChangedSince(Collection<Long> ids, LocalDateTime since) {
+        return (root, cq, cb) -> {
+            Predicate changed = cb.greaterThanOrEqualTo(root.get("updatedAt"), since);
+            return ids.isEmpty() ? changed : cb.or(root.get("id").in(ids), changed);
+        };
+    }
+
+    // keyset pagination: everything after the last id of the previous page
+    public static Specification<Station> idGreaterThan(Long afterId) {
+        return (root, cq, cb) -> cb.greaterThan(root.get("id"), afterId);
+    }
+}
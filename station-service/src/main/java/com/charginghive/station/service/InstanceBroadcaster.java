@@ -0,0 +1,58 @@
+package com.charginghive.station.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Sends a request to every registered instance of a service instead of the one the load
+ * balancer would pick, for cache evictions that each replica has to apply itself.
+ * An instance that misses one catches up when its cache entry expires.
+ */
+@Component
+@Slf4j
+public class InstanceBroadcaster {
+
+    private final DiscoveryClient discoveryClient;
+    // plain client: the instance URIs come from discovery, not from the load balancer
+    private final RestClient restClient;
+
+    public InstanceBroadcaster(DiscoveryClient discoveryClient,
+                               @Value("${station.broadcast.connect-timeout:2s}") Duration connectTimeout,
+                               @Value("${station.broadcast.read-timeout:5s}") Duration readTimeout) {
+        this.discoveryClient = discoveryClient;
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+                HttpClient.newBuilder().connectTimeout(connectTimeout).build());
+        requestFactory.setReadTimeout(readTimeout);
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+    }
+
+    /**
+     * DELETE the path on every instance of the service, one after the other
+     */
+    public void delete(String serviceId, String path, Object... uriVariables) {
+        List<ServiceInstance> instances = discoveryClient.getInstances(serviceId);
+        if (instances.isEmpty()) {
+            log.warn("No {} instances registered, skipping DELETE {}", serviceId, path);
+            return;
+        }
+        for (ServiceInstance instance : instances) {
+            try {
+                restClient.delete()
+                        .uri(instance.getUri() + path, uriVariables)
+                        .retrieve()
+                        .toBodilessEntity();
+            } catch (Exception e) {
+                log.warn("Could not DELETE {} on {} instance {}", path, serviceId, instance.getUri());
+            }
+        }
+    }
+}
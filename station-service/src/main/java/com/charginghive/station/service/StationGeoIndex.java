@@ -0,0 +1,295 @@
+package com.charginghive.station.service;
+
+import com.charginghive.station.model.Station;
+import com.charginghive.station.repository.StationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory grid index of approved station locations used by nearby searches.
+ * The world is split into fixed cells of CELL_DEGREES; a radius query only looks at
+ * the cells covered by the query's bounding box and runs haversine on the stations
+ * that pass the bounding-box check.
+ * Each replica holds its own copy, rebuilt from the database every resync interval.
+ * Stations written since the last resync (by any replica) are read from the database on
+ * every query and take precedence over the index, so results never lag behind a write.
+ * Until the first load finishes, queries go to the database directly.
+ */
+@Component
+@Slf4j
+public class StationGeoIndex {
+
+    private static final double CELL_DEGREES = 0.05; // roughly 5.5 km of latitude
+    private static final int LAT_CELLS = (int) Math.ceil(180 / CELL_DEGREES);
+    private static final int LNG_CELLS = (int) Math.ceil(360 / CELL_DEGREES);
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final StationRepository stationRepository;
+    // margin for clock differences between replicas when picking up their writes
+    private final Duration clockSkew;
+
+    private final Map<Long, Set<Point>> cells = new ConcurrentHashMap<>();
+    private final Map<Long, Point> points = new ConcurrentHashMap<>();
+    private final Object resyncLock = new Object();
+    private volatile boolean ready = false;
+    // stations written at or after this time may be missing or stale in the index
+    private volatile LocalDateTime changedSince;
+
+    private record Point(Long stationId, double lat, double lng, long cell) {
+    }
+
+    /**
+     * A station found by a query together with its distance from the query point
+     */
+    public record Hit(Long stationId, double distanceKm) {
+    }
+
+    public StationGeoIndex(StationRepository stationRepository,
+                           @Value("${station.index.clock-skew:1m}") Duration clockSkew) {
+        this.stationRepository = stationRepository;
+        this.clockSkew = clockSkew;
+    }
+
+    /**
+     * Bring the index in line with the approved stations in the database. Runs at startup
+     * and then every resync interval; a failed run leaves the previous state in place.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${station.index.resync-interval:5m}",
+            initialDelayString = "${station.index.resync-interval:5m}")
+    public void resync() {
+        synchronized (resyncLock) {
+            try {
+                LocalDateTime started = LocalDateTime.now().minus(clockSkew);
+                List<Station> approved = stationRepository.findByIsApprovedTrue();
+                Set<Long> approvedIds = new HashSet<>();
+                approved.forEach(station -> {
+                    approvedIds.add(station.getId());
+                    update(station);
+                });
+                points.keySet().stream()
+                        .filter(id -> !approvedIds.contains(id))
+                        .toList()
+                        .forEach(this::remove);
+                changedSince = started;
+                if (!ready) {
+                    ready = true;
+                    log.info("Station geo index loaded with {} approved stations in {} cells", points.size(), cells.size());
+                }
+            } catch (Exception e) {
+                log.error("Station geo index resync failed", e);
+            }
+        }
+    }
+
+    /**
+     * Whether the first load has finished
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Add, move or drop a station depending on its current approval and location
+     */
+    public synchronized void update(Station station) {
+        remove(station.getId());
+        if (!station.isApproved() || station.getLatitude() == null || station.getLongitude() == null) {
+            return;
+        }
+        double lat = station.getLatitude();
+        double lng = station.getLongitude();
+        Point point = new Point(station.getId(), lat, lng, cellKey(latCell(lat), lngCell(lng)));
+        cells.computeIfAbsent(point.cell(), key -> ConcurrentHashMap.newKeySet()).add(point);
+        points.put(point.stationId(), point);
+    }
+
+    public synchronized void remove(Long stationId) {
+        Point point = points.remove(stationId);
+        if (point == null) {
+            return;
+        }
+        Set<Point> cell = cells.get(point.cell());
+        if (cell != null) {
+            cell.remove(point);
+        }
+    }
+
+    /**
+     * Approved stations within radiusKm of the point, nearest first
+     */
+    public List<Hit> withinRadius(double lat, double lng, double radiusKm) {
+        if (!ready) {
+            return hitsOf(approvedInBox(lat, lng, radiusKm), lat, lng, radiusKm);
+        }
+        List<Station> changed = stationRepository.findByUpdatedAtGreaterThanEqual(changedSince);
+        return withChanges(indexedWithinRadius(lat, lng, radiusKm), changed, lat, lng, radiusKm, Integer.MAX_VALUE);
+    }
+
+    /**
+     * The k approved stations nearest to the point, nearest first
+     */
+    public List<Hit> nearest(double lat, double lng, int k) {
+        if (k <= 0) {
+            return List.of();
+        }
+        if (!ready) {
+            List<Hit> hits = hitsOf(stationRepository.findByIsApprovedTrue(), lat, lng, Double.MAX_VALUE);
+            return hits.size() > k ? new ArrayList<>(hits.subList(0, k)) : hits;
+        }
+        List<Station> changed = stationRepository.findByUpdatedAtGreaterThanEqual(changedSince);
+        // dropping up to changed.size() stale hits still leaves the true k nearest among the rest
+        return withChanges(indexedNearest(lat, lng, k + changed.size()), changed, lat, lng, Double.MAX_VALUE, k);
+    }
+
+    // replace what the index says about recently changed stations with their database state
+    private List<Hit> withChanges(List<Hit> indexed, List<Station> changed, double lat, double lng,
+                                  double radiusKm, int limit) {
+        List<Hit> hits = indexed;
+        if (!changed.isEmpty()) {
+            Set<Long> changedIds = changed.stream().map(Station::getId).collect(Collectors.toSet());
+            hits = indexed.stream()
+                    .filter(hit -> !changedIds.contains(hit.stationId()))
+                    .collect(Collectors.toCollection(ArrayList::new));
+            hits.addAll(hitsOf(changed, lat, lng, radiusKm));
+            hits.sort(Comparator.comparingDouble(Hit::distanceKm));
+        }
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    // approved stations in the query's bounding box; the whole table when the box wraps the antimeridian
+    private List<Station> approvedInBox(double lat, double lng, double radiusKm) {
+        double dLat = radiusKm / KM_PER_DEGREE;
+        double dLng = lngDelta(lat, radiusKm);
+        if (lng - dLng < -180 || lng + dLng > 180) {
+            return stationRepository.findByIsApprovedTrue();
+        }
+        return stationRepository.findApprovedInBox(lat - dLat, lat + dLat, lng - dLng, lng + dLng);
+    }
+
+    // hits for the approved, located stations within radiusKm, nearest first
+    private static List<Hit> hitsOf(List<Station> stations, double lat, double lng, double radiusKm) {
+        List<Hit> hits = new ArrayList<>();
+        for (Station station : stations) {
+            if (!station.isApproved() || station.getLatitude() == null || station.getLongitude() == null) {
+                continue;
+            }
+            double distance = distanceKm(lat, lng, station.getLatitude(), station.getLongitude());
+            if (distance <= radiusKm) {
+                hits.add(new Hit(station.getId(), distance));
+            }
+        }
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return hits;
+    }
+
+    // radius query against the in-memory grid only
+    List<Hit> indexedWithinRadius(double lat, double lng, double radiusKm) {
+        List<Hit> hits = new ArrayList<>();
+        double dLat = radiusKm / KM_PER_DEGREE;
+        double dLng = lngDelta(lat, radiusKm);
+        int minLatCell = latCell(lat - dLat);
+        int maxLatCell = latCell(lat + dLat);
+        int lngSpan = (int) Math.min((LNG_CELLS - 1) / 2, Math.ceil(dLng / CELL_DEGREES) + 1);
+        int centerLngCell = lngCell(lng);
+
+        long cellsInBox = (long) (maxLatCell - minLatCell + 1) * (2L * lngSpan + 1);
+        if (cellsInBox > cells.size()) {
+            // huge radius: cheaper to walk the occupied cells than the empty grid
+            cells.values().forEach(cell -> collect(cell, lat, lng, dLat, dLng, radiusKm, hits));
+        } else {
+            for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+                for (int offset = -lngSpan; offset <= lngSpan; offset++) {
+                    Set<Point> cell = cells.get(cellKey(latCell, Math.floorMod(centerLngCell + offset, LNG_CELLS)));
+                    if (cell != null) {
+                        collect(cell, lat, lng, dLat, dLng, radiusKm, hits);
+                    }
+                }
+            }
+        }
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return hits;
+    }
+
+    // k nearest against the in-memory grid only; searches rings of growing radius so
+    // only the neighbourhood of the point is scanned
+    List<Hit> indexedNearest(double lat, double lng, int k) {
+        if (k <= 0 || points.isEmpty()) {
+            return List.of();
+        }
+        double radiusKm = CELL_DEGREES * KM_PER_DEGREE;
+        double maxRadiusKm = Math.PI * EARTH_RADIUS_KM;
+        while (true) {
+            List<Hit> hits = indexedWithinRadius(lat, lng, radiusKm);
+            if (hits.size() >= k || radiusKm >= maxRadiusKm) {
+                return hits.size() > k ? new ArrayList<>(hits.subList(0, k)) : hits;
+            }
+            radiusKm *= 2;
+        }
+    }
+
+    private void collect(Set<Point> cell, double lat, double lng, double dLat, double dLng,
+                         double radiusKm, List<Hit> hits) {
+        for (Point point : cell) {
+            // bounding-box prefilter before paying for trigonometry
+            if (Math.abs(point.lat() - lat) > dLat || lngDistance(point.lng(), lng) > dLng) {
+                continue;
+            }
+            double distance = distanceKm(lat, lng, point.lat(), point.lng());
+            if (distance <= radiusKm) {
+                hits.add(new Hit(point.stationId(), distance));
+            }
+        }
+    }
+
+    // longitude half-width of the box, taken at the box edge farthest from the equator
+    // where a degree of longitude is shortest
+    private static double lngDelta(double lat, double radiusKm) {
+        double farthestLat = Math.abs(lat) + radiusKm / KM_PER_DEGREE;
+        double cos = Math.cos(Math.toRadians(Math.min(89.0, farthestLat)));
+        return Math.min(180.0, radiusKm / (KM_PER_DEGREE * cos));
+    }
+
+    private static double lngDistance(double lng1, double lng2) {
+        double d = Math.abs(lng1 - lng2) % 360;
+        return d > 180 ? 360 - d : d;
+    }
+
+    private static int latCell(double lat) {
+        return (int) Math.max(0, Math.min(LAT_CELLS - 1, Math.floor((lat + 90) / CELL_DEGREES)));
+    }
+
+    private static int lngCell(double lng) {
+        return Math.floorMod((int) Math.floor((lng + 180) / CELL_DEGREES), LNG_CELLS);
+    }
+
+    private static long cellKey(int latCell, int lngCell) {
+        return ((long) latCell << 32) | (lngCell & 0xffffffffL);
+    }
+
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return EARTH_RADIUS_KM * c;
+    }
+}
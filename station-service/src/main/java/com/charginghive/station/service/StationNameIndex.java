@@ -0,0 +1,162 @@
+package com.charginghive.station.service;
+
+import com.charginghive.station.model.Station;
+import com.charginghive.station.repository.StationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory trigram index over station names for substring (typeahead) search.
+ * A name contains the query only if it contains every trigram of the query, so
+ * intersecting the posting sets gives a small candidate set that the database
+ * query then checks exactly.
+ * Each replica holds its own copy, rebuilt from the database every resync interval.
+ * Stations written since the last resync may be missing here, so searches also check
+ * them by name directly (see changedSince).
+ */
+@Component
+@Slf4j
+public class StationNameIndex {
+
+    public static final int GRAM = 3;
+    // above this many candidates an IN list stops paying off and the plain LIKE is used
+    public static final int MAX_CANDIDATES = 1000;
+
+    private final StationRepository stationRepository;
+    // margin for clock differences between replicas when picking up their writes
+    private final Duration clockSkew;
+
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> gramsByStation = new ConcurrentHashMap<>();
+    private final Object resyncLock = new Object();
+    private volatile boolean ready = false;
+    private volatile LocalDateTime changedSince;
+
+    public StationNameIndex(StationRepository stationRepository,
+                            @Value("${station.index.clock-skew:1m}") Duration clockSkew) {
+        this.stationRepository = stationRepository;
+        this.clockSkew = clockSkew;
+    }
+
+    /**
+     * Bring the index in line with the stations in the database. Runs at startup and then
+     * every resync interval; a failed run leaves the previous state in place.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${station.index.resync-interval:5m}",
+            initialDelayString = "${station.index.resync-interval:5m}")
+    public void resync() {
+        synchronized (resyncLock) {
+            try {
+                LocalDateTime started = LocalDateTime.now().minus(clockSkew);
+                Set<Long> ids = new HashSet<>();
+                stationRepository.findAll().forEach(station -> {
+                    ids.add(station.getId());
+                    update(station);
+                });
+                gramsByStation.keySet().stream()
+                        .filter(id -> !ids.contains(id))
+                        .toList()
+                        .forEach(this::remove);
+                changedSince = started;
+                if (!ready) {
+                    ready = true;
+                    log.info("Station name index loaded with {} stations and {} trigrams", gramsByStation.size(), postings.size());
+                }
+            } catch (Exception e) {
+                log.error("Station name index resync failed", e);
+            }
+        }
+    }
+
+    /**
+     * Stations written at or after this time may be missing or stale in the index and
+     * have to be checked against the database
+     */
+    public LocalDateTime changedSince() {
+        return changedSince;
+    }
+
+    /**
+     * Whether the index can narrow down a search for this query
+     */
+    public boolean canServe(String query) {
+        return ready && query != null && query.length() >= GRAM;
+    }
+
+    public synchronized void update(Station station) {
+        remove(station.getId());
+        if (station.getName() == null) {
+            return;
+        }
+        Set<String> grams = grams(station.getName());
+        grams.forEach(gram -> postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(station.getId()));
+        gramsByStation.put(station.getId(), grams);
+    }
+
+    public synchronized void remove(Long stationId) {
+        Set<String> grams = gramsByStation.remove(stationId);
+        if (grams == null) {
+            return;
+        }
+        grams.forEach(gram -> {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(stationId);
+            }
+        });
+    }
+
+    /**
+     * Ids above afterId (if given) of indexed stations whose name may contain the query,
+     * a superset of the real matches among them
+     */
+    public Set<Long> candidates(String query, Long afterId) {
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null || ids.isEmpty()) {
+                return Set.of();
+            }
+            lists.add(ids);
+        }
+        if (lists.isEmpty()) {
+            return Set.of();
+        }
+        // intersect starting from the rarest trigram to keep the working set small
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>();
+        for (Long id : lists.get(0)) {
+            if (afterId == null || id > afterId) {
+                result.add(id);
+            }
+        }
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private static Set<String> grams(String text) {
+        String normalized = text.toLowerCase();
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+}
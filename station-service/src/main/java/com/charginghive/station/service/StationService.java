@@ -4,23 +4,38 @@ import com.charginghive.station.customException.NotFoundException;
 import com.charginghive.station.customException.OwnerIdMissMatchException;
 import com.charginghive.station.customException.UserNotFoundException;
 import com.charginghive.station.dto.*;
+import com.charginghive.station.mapper.StationMapper;
 import com.charginghive.station.model.Station;
 import com.charginghive.station.model.StationPort;
 import com.charginghive.station.repository.StationPortRepository;
 import com.charginghive.station.repository.StationRepository;
+import com.charginghive.station.repository.StationSpecifications;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.LocalTime;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 
@@ -33,16 +48,50 @@ public class StationService {
     private final ModelMapper modelMapper;
     private final RestClient userClient;
     private final RestClient bookingClient;
+    private final StationGeoIndex geoIndex;
+    private final StationNameIndex nameIndex;
+    private final InstanceBroadcaster broadcaster;
+    // Hibernate second-level cache, evicted explicitly on writes (see evictSecondLevelCache)
+    private final org.hibernate.Cache entityCache;
 
-    public StationService(StationRepository repository, StationPortRepository repositoryPort, ModelMapper modelMapper, RestClient.Builder Client) {
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    // availability is computed in fixed half-hour slots; one bit per slot of the day
+    private static final int SLOT_MINUTES = 30;
+    private static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    private static final long ALL_SLOTS_FREE = (1L << SLOTS_PER_DAY) - 1;
+
+    // longest range accepted by the availability range query
+    private static final int MAX_AVAILABILITY_DAYS = 31;
+
+    private final Cache<AvailabilityKey, StationAvailabilityDto> availabilityCache;
+    // bumped by every eviction (see getAvailability)
+    private final AtomicLong availabilityEvictions = new AtomicLong();
+
+    private record AvailabilityKey(Long stationId, LocalDate date) {
+    }
+
+    public StationService(StationRepository repository, StationPortRepository repositoryPort, ModelMapper modelMapper, RestClient.Builder Client,
+                          StationGeoIndex geoIndex, StationNameIndex nameIndex, InstanceBroadcaster broadcaster,
+                          EntityManagerFactory entityManagerFactory,
+                          @Value("${station.availability-cache.max-size:10000}") long availabilityCacheSize,
+                          @Value("${station.availability-cache.ttl:2m}") Duration availabilityCacheTtl) {
         this.stationRepository = repository;
         this.stationPortRepository = repositoryPort;
         this.modelMapper = modelMapper;
+        this.geoIndex = geoIndex;
+        this.nameIndex = nameIndex;
+        this.broadcaster = broadcaster;
+        this.entityCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
         this.userClient = Client
                 .baseUrl("http://AUTH-SERVICE")
                 .build();
         this.bookingClient = Client.baseUrl("http://BOOKING-SERVICE")
                 .build();
+        this.availabilityCache = Caffeine.newBuilder()
+                .maximumSize(availabilityCacheSize)
+                .expireAfterWrite(availabilityCacheTtl)
+                .build();
     }
 
     @Transactional
@@ -68,12 +117,14 @@ public class StationService {
         }
 
         Station savedStation = stationRepository.save(station);
-        return modelMapper.map(savedStation, StationDto.class);
+        afterCommit(() -> nameIndex.update(savedStation));
+        return StationMapper.toDto(savedStation);
     }
 
     // fetch a station by id
     @Transactional
     public StationDto getStation(Long id) {
+        // findById is served by the second-level cache once warm; ports always come from the database
         Station station = stationRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Station not found with id=" + id));
         return toDto(station);
@@ -86,6 +137,12 @@ public class StationService {
                 .orElseThrow(() -> new NotFoundException("Station not found with id=" + id));
         modelMapper.map(update, station); // only non-null fields copied due to global config
         Station saved = stationRepository.save(station);
+        afterCommit(() -> {
+            geoIndex.update(saved);
+            nameIndex.update(saved);
+        });
+        evictSecondLevelCache(id);
+        evictBookingCache(id);
         return toDto(saved);
     }
 
@@ -96,6 +153,9 @@ public class StationService {
 
         station.setApproved(approvalDto.isApproved());
         stationRepository.save(station);
+        afterCommit(() -> geoIndex.update(station));
+        evictSecondLevelCache(station.getId());
+        evictBookingCache(station.getId());
     }
 
     @Transactional
@@ -103,17 +163,24 @@ public class StationService {
         Station station = stationRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Station not found with id=" + id));
         stationRepository.delete(station);
+        afterCommit(() -> {
+            geoIndex.remove(id);
+            nameIndex.remove(id);
+        });
+        evictSecondLevelCache(id);
+        evictBookingCache(id);
+        evictAvailability(id);
     }
 
     public List<StationDto> getAllStations() {
-        return stationRepository.findAll().stream()
-                .map(station -> modelMapper.map(station, StationDto.class)).toList();
+        return stationRepository.findAllWithPorts().stream()
+                .map(StationMapper::toDto).toList();
     }
 
 
     @Transactional
     public List<StationDto> getByOwner(Long ownerId) {
-        return stationRepository.findByOwnerId(ownerId).stream().map(this::toDto).toList();
+        return stationRepository.findWithPortsByOwnerId(ownerId).stream().map(this::toDto).toList();
     }
 
     @Transactional
@@ -128,19 +195,32 @@ public class StationService {
         StationPort saved = stationPortRepository.save(port);
         // maintain the relationship on the owner side
         station.getPorts().add(saved);
-        return modelMapper.map(saved, StationPortDto.class);
+        evictSecondLevelCache(stationId);
+        evictBookingCache(stationId);
+        evictAvailability(stationId);
+        return StationMapper.toPortDto(saved);
     }
 
     @Transactional
     public List<StationPortDto> listPorts(Long stationId) {
         Station station = stationRepository.findById(stationId)
                 .orElseThrow(() -> new NotFoundException("Station not found with id=" + stationId));
-        return station.getPorts().stream().map(p -> modelMapper.map(p, StationPortDto.class)).toList();
+        return station.getPorts().stream().map(StationMapper::toPortDto).toList();
+    }
+
+    /**
+     * Station counts for the admin dashboard, computed with COUNT queries
+     */
+    @Transactional(readOnly = true)
+    public StationStatsDto getStationStats() {
+        long approved = stationRepository.countByIsApproved(true);
+        long pending = stationRepository.countByIsApproved(false);
+        return new StationStatsDto(approved + pending, approved, pending);
     }
 
     public List<StationDto> getUnapprovedStations() {
-        return stationRepository.findByIsApprovedFalse().stream()
-                .map(station -> modelMapper.map(station, StationDto.class)).toList();
+        return stationRepository.findWithPortsByIsApproved(false).stream()
+                .map(StationMapper::toDto).toList();
     }
 
 
@@ -158,6 +238,9 @@ public class StationService {
 
         station.getPorts().remove(port);
         stationPortRepository.delete(port);
+        evictSecondLevelCache(stationId);
+        evictBookingCache(stationId);
+        evictAvailability(stationId);
     }
 
 
@@ -172,55 +255,199 @@ public class StationService {
         port.setConnectorType(dto.getConnectorType());
         port.setMaxPowerKw(dto.getMaxPowerKw());
         stationPortRepository.save(port);
-        return modelMapper.map(station, StationDto.class);
+        evictSecondLevelCache(station.getId());
+        evictBookingCache(station.getId());
+        evictAvailability(station.getId());
+        return StationMapper.toDto(station);
     }
 
 
 
-    public List<StationDto> searchStations(String query, String city,Boolean available) {
-        return stationRepository.findAll().stream()
-                .filter(s -> query == null || s.getName().toLowerCase().contains(query.toLowerCase()))
-                .filter(s -> city == null || s.getCity().equalsIgnoreCase(city))
-                // available flag could check ports size > 0 for now
-                .filter(s -> available == null || (available && !s.getPorts().isEmpty()) || (!available))
-                .map(s -> modelMapper.map(s, StationDto.class))
+    /**
+     * Search stations by name substring, city and port presence, filtered in the database.
+     * Keyset paginated by id: pass the last id of the previous page as afterId.
+     */
+    @Transactional(readOnly = true)
+    public List<StationDto> searchStations(String query, String city, Boolean available, Long afterId, int size) {
+        Specification<Station> spec = (root, cq, cb) -> cb.conjunction();
+        if (query != null && !query.isBlank()) {
+            if (nameIndex.canServe(query)) {
+                Set<Long> candidates = nameIndex.candidates(query, afterId);
+                if (candidates.size() <= StationNameIndex.MAX_CANDIDATES) {
+                    // stations created or renamed since the last resync, possibly on another
+                    // replica, may be missing from the index and are matched by name directly
+                    spec = spec.and(StationSpecifications.idInOrChangedSince(candidates, nameIndex.changedSince()));
+                }
+            }
+            spec = spec.and(StationSpecifications.nameContains(query));
+        }
+        if (city != null && !city.isBlank()) {
+            spec = spec.and(StationSpecifications.cityEquals(city));
+        }
+        // available flag could check ports size > 0 for now
+        if (Boolean.TRUE.equals(available)) {
+            spec = spec.and(StationSpecifications.hasPorts());
+        }
+        if (afterId != null) {
+            spec = spec.and(StationSpecifications.idGreaterThan(afterId));
+        }
+        int limit = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+        return stationRepository.findBy(spec, q -> q.sortBy(Sort.by("id")).limit(limit).all())
+                .stream()
+                .map(StationMapper::toDto)
                 .toList();
     }
 
+    // approved stations within radiusKm, nearest first - served from the geo index (see StationGeoIndex)
+    @Transactional(readOnly = true)
     public List<StationDto> findNearby(double lat, double lng, double radiusKm) {
-        List<StationDto> filterStations =  stationRepository.findAll().stream()
-                .map(s -> new Object[]{s, distanceKm(lat, lng, s.getLatitude(), s.getLongitude())})
-                .filter(arr -> (double) arr[1] <= radiusKm)
-                .sorted(Comparator.comparingDouble(a -> (double) a[1]))
-                .map(arr -> modelMapper.map((Station) arr[0], StationDto.class))
-                .collect(Collectors.toList());
-
-        log.info("Found {} stations in range of {} km", filterStations, radiusKm);
-
+        List<StationDto> filterStations = loadInOrder(geoIndex.withinRadius(lat, lng, radiusKm));
+        log.info("Found {} stations in range of {} km", filterStations.size(), radiusKm);
         return filterStations;
     }
 
-    private double distanceKm(double lat1, double lon1, Double lat2, Double lon2) {
-        if (lat2 == null || lon2 == null) return Double.MAX_VALUE;
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return 6371.0 * c;
+    // the k approved stations nearest to a point, nearest first
+    @Transactional(readOnly = true)
+    public List<StationDto> findNearest(double lat, double lng, int k) {
+        return loadInOrder(geoIndex.nearest(lat, lng, k));
+    }
+
+    private List<StationDto> loadInOrder(List<StationGeoIndex.Hit> hits) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Station> stations = stationRepository.findWithPortsByIdIn(hits.stream().map(StationGeoIndex.Hit::stationId).toList())
+                .stream()
+                .collect(Collectors.toMap(Station::getId, s -> s));
+        return hits.stream()
+                .map(hit -> stations.get(hit.stationId()))
+                .filter(Objects::nonNull)
+                .map(StationMapper::toDto)
+                .toList();
     }
 
-    public List<String> getAvailability(Long stationId, String dateIso) {
+    /**
+     * Free half-hour slots of every port of a station for one day, as one bitmap per port.
+     */
+    public StationAvailabilityDto getAvailability(Long stationId, String dateIso) {
         LocalDate date = LocalDate.parse(dateIso, DateTimeFormatter.ISO_DATE);
-        List<String> slots = new ArrayList<>();
-        LocalTime t = LocalTime.of(8, 0);
-        LocalTime end = LocalTime.of(20, 0);
-        while (!t.isAfter(end.minusMinutes(30))) {
-            slots.add(date.atTime(t).toString());
-            t = t.plusMinutes(30);
+        return getAvailability(stationId, date, date).get(0);
+    }
+
+    /**
+     * Free half-hour slots of every port of a station for each day from `fromIso` to `toIso`
+     * inclusive, one entry per day. Days are cached per station until a booking or port of the
+     * station changes; the days missing from the cache are computed from one booking-service call.
+     * Deliberately not transactional, so no database connection is held during that call.
+     */
+    public List<StationAvailabilityDto> getAvailability(Long stationId, String fromIso, String toIso) {
+        return getAvailability(stationId,
+                LocalDate.parse(fromIso, DateTimeFormatter.ISO_DATE),
+                LocalDate.parse(toIso, DateTimeFormatter.ISO_DATE));
+    }
+
+    /**
+     * Drop cached availability of a station for all days
+     */
+    public void evictAvailability(Long stationId) {
+        availabilityEvictions.incrementAndGet();
+        availabilityCache.asMap().keySet().removeIf(key -> key.stationId().equals(stationId));
+    }
+
+    private List<StationAvailabilityDto> getAvailability(Long stationId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_AVAILABILITY_DAYS) {
+            throw new IllegalArgumentException("Availability can be requested for at most " + MAX_AVAILABILITY_DAYS + " days");
+        }
+        Map<LocalDate, StationAvailabilityDto> days = new TreeMap<>();
+        List<LocalDate> missing = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            StationAvailabilityDto cached = availabilityCache.getIfPresent(new AvailabilityKey(stationId, date));
+            if (cached != null) {
+                days.put(date, cached);
+            } else {
+                missing.add(date);
+            }
         }
-        return slots;
+        if (missing.isEmpty()) {
+            return new ArrayList<>(days.values());
+        }
+
+        // an eviction that lands while we compute may be newer than what we read, so the
+        // result is only cached if none happened
+        long evictionsBefore = availabilityEvictions.get();
+        Map<LocalDate, StationAvailabilityDto> computed =
+                computeAvailability(stationId, missing.get(0), missing.get(missing.size() - 1));
+        boolean cacheable = availabilityEvictions.get() == evictionsBefore;
+        for (LocalDate date : missing) {
+            StationAvailabilityDto availability = computed.get(date);
+            days.put(date, availability);
+            if (cacheable) {
+                availabilityCache.put(new AvailabilityKey(stationId, date), availability);
+            }
+        }
+        return new ArrayList<>(days.values());
+    }
+
+    // availability of every day in [from, to] from one ports query and one booking-service call
+    private Map<LocalDate, StationAvailabilityDto> computeAvailability(Long stationId, LocalDate from, LocalDate to) {
+        List<StationPortDto> ports = stationPortRepository.findPortInfoByStationId(stationId).stream()
+                .sorted(Comparator.comparing(StationPortDto::getId))
+                .toList();
+        if (ports.isEmpty() && !stationRepository.existsById(stationId)) {
+            throw new NotFoundException("Station not found with id=" + stationId);
+        }
+
+        Map<Long, List<BookedIntervalDto>> booked = ports.isEmpty()
+                ? Map.of()
+                : fetchBookedIntervals(ports, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+
+        Map<LocalDate, StationAvailabilityDto> days = new HashMap<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            LocalDateTime dayStart = date.atStartOfDay();
+            List<PortAvailabilityDto> portAvailability = ports.stream()
+                    .map(p -> new PortAvailabilityDto(p.getId(), p.getConnectorType(),
+                            freeSlotMask(booked.getOrDefault(p.getId(), List.of()), dayStart)))
+                    .toList();
+            days.put(date, new StationAvailabilityDto(stationId, date, SLOT_MINUTES, SLOTS_PER_DAY, portAvailability));
+        }
+        return days;
+    }
+
+    private Map<Long, List<BookedIntervalDto>> fetchBookedIntervals(List<StationPortDto> ports, LocalDateTime from, LocalDateTime to) {
+        String portIds = ports.stream().map(p -> String.valueOf(p.getId())).collect(Collectors.joining(","));
+        try {
+            Map<Long, List<BookedIntervalDto>> booked = bookingClient.get()
+                    .uri("/bookings/port/{portIds}/intervals?startTime={from}&endTime={to}", portIds, from, to)
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<Map<Long, List<BookedIntervalDto>>>() {});
+            return booked != null ? booked : Map.of();
+        } catch (Exception e) {
+            log.warn("Could not fetch booked intervals for ports: {}", portIds);
+            // never report a slot as free when bookings could not be checked
+            throw new IllegalStateException("Unable to compute availability: booking service unavailable", e);
+        }
+    }
+
+    // clear the bit of every slot that a booked interval touches
+    private long freeSlotMask(List<BookedIntervalDto> booked, LocalDateTime dayStart) {
+        long slotSeconds = SLOT_MINUTES * 60L;
+        long daySeconds = SLOTS_PER_DAY * slotSeconds;
+        long free = ALL_SLOTS_FREE;
+        for (BookedIntervalDto interval : booked) {
+            long start = Math.max(0, Duration.between(dayStart, interval.getStartTime()).getSeconds());
+            long end = Math.min(daySeconds, Duration.between(dayStart, interval.getEndTime()).getSeconds());
+            if (end <= start) {
+                continue;
+            }
+            int firstSlot = (int) (start / slotSeconds);
+            int endSlot = (int) ((end + slotSeconds - 1) / slotSeconds); // exclusive
+            long busy = ((1L << endSlot) - 1) & ~((1L << firstSlot) - 1);
+            free &= ~busy;
+        }
+        return free;
     }
 
 
@@ -229,14 +456,34 @@ public class StationService {
 
     // added: helper mapping to StationDto including ports
     private StationDto toDto(Station station) {
-        StationDto dto = modelMapper.map(station, StationDto.class);
-        if (station.getPorts() != null) {
-            dto.setPorts(station.getPorts().stream()
-                    .map(p -> modelMapper.map(p, StationPortDto.class))
-                    .toList());
+        return StationMapper.toDto(station);
+    }
+    /**
+     * Drop the station from this replica's second-level cache after commit
+     */
+    private void evictSecondLevelCache(Long stationId) {
+        afterCommit(() -> entityCache.evictEntityData(Station.class, stationId));
+    }
+
+    // tell every booking service instance to drop its cached copy of the station once our change is committed
+    private void evictBookingCache(Long stationId) {
+        afterCommit(() -> broadcaster.delete("BOOKING-SERVICE", "/bookings/cache/stations/{id}", stationId));
+    }
+
+    // run once the surrounding transaction has committed, or right away outside a transaction
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
         }
-        return dto;
     }
+
     private boolean verifyUserExists(Long ownerId) {
 
         try {
@@ -270,44 +517,52 @@ public class StationService {
      * Get specific port information for booking service
      */
     public StationPortDto getPortInfo(Long stationId, Long portId) {
-        // First check if station exists
-        Station station = stationRepository.findById(stationId)
-                .orElseThrow(() -> new EntityNotFoundException("Station not found with id: " + stationId));
-
-        // Find the port in this station
-        StationPort port = station.getPorts().stream()
-                .filter(p -> p.getId().equals(portId))
-                .findFirst()
-                .orElseThrow(() -> new EntityNotFoundException("Port not found with id: " + portId + " in station: " + stationId));
-
-        return modelMapper.map(port, StationPortDto.class);
+        return stationPortRepository.findPortInfo(stationId, portId).orElseThrow(() -> {
+            // only a miss pays for the extra check that tells the two errors apart
+            if (!stationRepository.existsById(stationId)) {
+                return new EntityNotFoundException("Station not found with id: " + stationId);
+            }
+            return new EntityNotFoundException("Port not found with id: " + portId + " in station: " + stationId);
+        });
     }
 
     /**
      * Get all ports for a station
      */
     public List<StationPortDto> getStationPorts(Long stationId) {
-        Station station = stationRepository.findById(stationId)
-                .orElseThrow(() -> new EntityNotFoundException("Station not found with id: " + stationId));
+        if (!stationRepository.existsById(stationId)) {
+            throw new EntityNotFoundException("Station not found with id: " + stationId);
+        }
+        return stationPortRepository.findPortInfoByStationId(stationId);
+    }
 
-        return station.getPorts().stream()
-                .map(port -> modelMapper.map(port, StationPortDto.class))
-                .collect(Collectors.toList());
+    /**
+     * Get several stations with their ports in one call - used by booking service
+     * to enrich booking lists without one request per booking
+     */
+    @Transactional(readOnly = true)
+    public List<StationDto> getStationsByIds(Collection<Long> stationIds) {
+        if (stationIds == null || stationIds.isEmpty()) {
+            return List.of();
+        }
+        return stationRepository.findWithPortsByIdIn(new HashSet<>(stationIds)).stream()
+                .map(this::toDto)
+                .toList();
     }
 
     /**
      * Get only approved stations
      */
     public List<StationDto> getApprovedStations() {
-        return stationRepository.findByIsApprovedTrue().stream()
-                .map(station -> modelMapper.map(station, StationDto.class))
+        return stationRepository.findWithPortsByIsApproved(true).stream()
+                .map(StationMapper::toDto)
                 .collect(Collectors.toList());
     }
 
     public TotalEarningRespDto getTotalEarningsFromAStaion(Long stationId) {
         TotalEarningRespDto totalEarning = null;
         try{
-            totalEarning = bookingClient.get().uri("/bookings/earnings/"+stationId)
+            totalEarning = bookingClient.get().uri("/bookings/admin/earnings/{stationId}", stationId)
                     .retrieve()
                     .body(TotalEarningRespDto.class);
         }
@@ -0,0 +1,93 @@
+package com.charginghive.station.mapper;
+
+import com.charginghive.station.dto.StationDto;
+import com.charginghive.station.dto.StationPortDto;
+import com.charginghive.station.model.Station;
+import com.charginghive.station.model.StationPort;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.Conditions;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StationMapperTest {
+
+    private final ObjectMapper json = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    // configured like the modelMapper bean in StationApplication
+    private static ModelMapper modelMapper() {
+        ModelMapper mapper = new ModelMapper();
+        mapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.STRICT)
+                .setPropertyCondition(Conditions.isNotNull());
+        return mapper;
+    }
+
+    private static StationPort port(long id, String connectorType, double maxPowerKw, Double pricePerHour, Station station) {
+        StationPort port = new StationPort();
+        port.setId(id);
+        port.setConnectorType(connectorType);
+        port.setMaxPowerKw(maxPowerKw);
+        port.setPricePerHour(pricePerHour);
+        port.setStation(station);
+        return port;
+    }
+
+    private static Station station(int portCount) {
+        Station station = new Station();
+        station.setId(5L);
+        station.setName("Spark Plaza");
+        station.setAddress("1 Main Street");
+        station.setCity("Pune");
+        station.setState("MH");
+        station.setLatitude(18.52);
+        station.setLongitude(73.85);
+        station.setPostalCode("411001");
+        station.setApproved(true);
+        station.setOwnerId(9L);
+        station.setUpdatedAt(LocalDateTime.of(2026, 3, 1, 10, 0));
+        Set<StationPort> ports = new LinkedHashSet<>();
+        for (int i = 0; i < portCount; i++) {
+            ports.add(port(100 + i, i % 2 == 0 ? "CCS2" : "Type2", 50 + i, 12.5 + i, station));
+        }
+        station.setPorts(ports);
+        return station;
+    }
+
+    @Test
+    void stationProducesTheSameJsonAsModelMapper() throws Exception {
+        Station station = station(3);
+
+        String expected = json.writeValueAsString(modelMapper().map(station, StationDto.class));
+        String actual = json.writeValueAsString(StationMapper.toDto(station));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void stationWithoutPortsMatchesModelMapper() throws Exception {
+        Station station = station(0);
+
+        String expected = json.writeValueAsString(modelMapper().map(station, StationDto.class));
+        String actual = json.writeValueAsString(StationMapper.toDto(station));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void portProducesTheSameJsonAsModelMapper() throws Exception {
+        StationPort port = port(7L, "CHAdeMO", 62.5, null, station(0));
+
+        String expected = json.writeValueAsString(modelMapper().map(port, StationPortDto.class));
+        String actual = json.writeValueAsString(StationMapper.toPortDto(port));
+
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,139 @@
+package com.charginghive.station.repository;
+
+import com.charginghive.station.model.Station;
+import com.charginghive.station.model.StationPort;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.sql.DataSource;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two entity manager factories on one database stand in for two station-service replicas,
+ * each with its own second-level cache. A price changed through one must be read by the
+ * other right away, since nothing evicts the other replica's cache.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PortPriceReplicaTest {
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private StationPortRepository stationPortRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactoryBuilder entityManagerFactoryBuilder;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private LocalContainerEntityManagerFactoryBean otherReplica;
+    private StationRepository otherStations;
+    private StationPortRepository otherPorts;
+    private TransactionTemplate onOtherReplica;
+
+    @BeforeEach
+    void startOtherReplica() {
+        // same schema and settings, but its own second-level cache: JCache keeps one cache
+        // manager per class loader, so a child loader gets the replica a separate one
+        ClassLoader replicaLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName(), replicaLoader)
+                .getCacheManager(null, replicaLoader);
+        otherReplica = entityManagerFactoryBuilder.dataSource(dataSource)
+                .packages(Station.class)
+                .persistenceUnit("other-replica")
+                .properties(Map.of("hibernate.hbm2ddl.auto", "none",
+                        "hibernate.javax.cache.cache_manager", cacheManager))
+                .build();
+        otherReplica.afterPropertiesSet();
+        EntityManagerFactory factory = otherReplica.getObject();
+        JpaRepositoryFactory repositories = new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(factory));
+        otherStations = repositories.getRepository(StationRepository.class);
+        otherPorts = repositories.getRepository(StationPortRepository.class);
+        onOtherReplica = new TransactionTemplate(new JpaTransactionManager(factory));
+    }
+
+    @AfterEach
+    void stopOtherReplica() {
+        otherReplica.destroy();
+        stationRepository.deleteAll();
+    }
+
+    private StationPort addStationWithPort(double pricePerHour) {
+        Station station = new Station();
+        station.setName("Spark Plaza");
+        station.setAddress("1 Main Street");
+        station.setCity("Pune");
+        station.setState("MH");
+        station.setLatitude(18.52);
+        station.setLongitude(73.85);
+        station.setPostalCode("411001");
+        station.setApproved(true);
+        station.setOwnerId(9L);
+        StationPort port = new StationPort();
+        port.setConnectorType("CCS2");
+        port.setMaxPowerKw(50);
+        port.setPricePerHour(pricePerHour);
+        port.setStation(station);
+        station.getPorts().add(port);
+        stationRepository.save(station);
+        return port;
+    }
+
+    // every way booking-service and the station endpoints read a port's price
+    private void assertOtherReplicaReads(Long stationId, Long portId, double pricePerHour) {
+        onOtherReplica.executeWithoutResult(status -> {
+            assertEquals(pricePerHour, otherPorts.findPortInfo(stationId, portId).orElseThrow().getPricePerHour());
+            assertEquals(pricePerHour, otherPorts.findPortInfoByStationId(stationId).get(0).getPricePerHour());
+            assertEquals(pricePerHour, otherPorts.findById(portId).orElseThrow().getPricePerHour());
+            assertEquals(pricePerHour, otherStations.findById(stationId).orElseThrow()
+                    .getPorts().iterator().next().getPricePerHour());
+        });
+    }
+
+    @Test
+    void priceChangedOnOneReplicaIsReadByTheOther() {
+        StationPort port = addStationWithPort(10.0);
+        Long stationId = port.getStation().getId();
+        Long portId = port.getId();
+
+        assertOtherReplicaReads(stationId, portId, 10.0);
+        // the station itself is cached there, so the replica does keep a second-level cache
+        assertTrue(otherReplica.getObject().getCache().contains(Station.class, stationId));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                stationPortRepository.findById(portId).orElseThrow().setPricePerHour(20.0));
+
+        assertOtherReplicaReads(stationId, portId, 20.0);
+    }
+}
@@ -0,0 +1,131 @@
+package com.charginghive.station.repository;
+
+import com.charginghive.station.dto.StationDto;
+import com.charginghive.station.mapper.StationMapper;
+import com.charginghive.station.model.Station;
+import com.charginghive.station.model.StationPort;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the JDBC statements behind each station list call, mapping stations and their ports
+ * to DTOs the way StationService does, to check the count does not grow with the number of
+ * stations. Caches are emptied before every call so each one starts cold.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class StationPortsQueryCountTest {
+
+    private static final long OWNER_ID = 9L;
+    private static final int PORTS_PER_STATION = 3;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    private void addStations(int count) {
+        for (int i = 0; i < count; i++) {
+            Station station = new Station();
+            station.setName("Station " + i);
+            station.setAddress(i + " Main Street");
+            station.setCity(i % 2 == 0 ? "Pune" : "Mumbai");
+            station.setState("MH");
+            station.setLatitude(18.5 + i * 0.001);
+            station.setLongitude(73.8 + i * 0.001);
+            station.setPostalCode("411001");
+            station.setApproved(true);
+            station.setOwnerId(OWNER_ID);
+            for (int p = 0; p < PORTS_PER_STATION; p++) {
+                StationPort port = new StationPort();
+                port.setConnectorType(p % 2 == 0 ? "CCS2" : "Type2");
+                port.setMaxPowerKw(50 + p);
+                port.setPricePerHour(12.5);
+                port.setStation(station);
+                station.getPorts().add(port);
+            }
+            entityManager.persist(station);
+        }
+        entityManager.flush();
+    }
+
+    // statements issued by the call, with the persistence context and second-level cache empty
+    private long statementsFor(Supplier<List<Station>> call, int expectedStations) {
+        entityManager.clear();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        List<StationDto> dtos = call.get().stream().map(StationMapper::toDto).toList();
+
+        assertEquals(expectedStations, dtos.size());
+        dtos.forEach(dto -> assertEquals(PORTS_PER_STATION, dto.getPorts().size()));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void assertConstant(Supplier<List<Station>> call, long expectedStatements, int smallPage, int largePage) {
+        addStations(5);
+        assertEquals(expectedStatements, statementsFor(call, smallPage));
+        addStations(45);
+        assertEquals(expectedStatements, statementsFor(call, largePage));
+    }
+
+    @Test
+    void allStationsLoadWithTheirPortsInOneQuery() {
+        assertConstant(stationRepository::findAllWithPorts, 1, 5, 50);
+    }
+
+    @Test
+    void ownerStationsLoadWithTheirPortsInOneQuery() {
+        assertConstant(() -> stationRepository.findWithPortsByOwnerId(OWNER_ID), 1, 5, 50);
+    }
+
+    @Test
+    void approvedStationsLoadWithTheirPortsInOneQuery() {
+        assertConstant(() -> stationRepository.findWithPortsByIsApproved(true), 1, 5, 50);
+    }
+
+    @Test
+    void batchLookupLoadsPortsInOneQuery() {
+        // ids read over plain JDBC, which Hibernate statistics do not count
+        assertConstant(() -> stationRepository.findWithPortsByIdIn(
+                jdbcTemplate.queryForList("SELECT id FROM stations", Long.class)), 1, 5, 50);
+    }
+
+    // searchStations pages with a limit, so ports come from one batch fetch per 100 stations
+    @Test
+    void searchPageLoadsPortsInOneBatch() {
+        assertConstant(() -> stationRepository.findBy(StationSpecifications.cityEquals("Pune"),
+                q -> q.sortBy(Sort.by("id")).limit(20).all()), 2, 3, 20);
+    }
+}
@@ -0,0 +1,96 @@
+package com.charginghive.station.service;
+
+import com.charginghive.station.model.Station;
+import com.charginghive.station.repository.StationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StationGeoIndexTest {
+
+    // Pune city centre and two stations roughly 2 km and 10 km away
+    private static final double LAT = 18.5204;
+    private static final double LNG = 73.8567;
+
+    private StationRepository repository;
+    private StationGeoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(StationRepository.class);
+        index = new StationGeoIndex(repository, Duration.ofMinutes(1));
+    }
+
+    private static Station station(long id, double lat, double lng, boolean approved) {
+        Station station = new Station();
+        station.setId(id);
+        station.setLatitude(lat);
+        station.setLongitude(lng);
+        station.setApproved(approved);
+        return station;
+    }
+
+    private static List<Long> ids(List<StationGeoIndex.Hit> hits) {
+        return hits.stream().map(StationGeoIndex.Hit::stationId).toList();
+    }
+
+    @Test
+    void queriesGoToTheDatabaseUntilLoaded() {
+        when(repository.findApprovedInBox(anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+                .thenReturn(List.of(station(2, 18.61, 73.8567, true), station(1, 18.5384, 73.8567, true)));
+
+        assertFalse(index.isReady());
+        assertEquals(List.of(1L, 2L), ids(index.withinRadius(LAT, LNG, 20)));
+        assertEquals(List.of(1L), ids(index.withinRadius(LAT, LNG, 5)));
+    }
+
+    @Test
+    void loadedIndexAnswersRadiusAndNearestQueries() {
+        when(repository.findByIsApprovedTrue())
+                .thenReturn(List.of(station(1, 18.5384, 73.8567, true), station(2, 18.61, 73.8567, true)));
+        when(repository.findByUpdatedAtGreaterThanEqual(any())).thenReturn(List.of());
+        index.resync();
+
+        assertTrue(index.isReady());
+        assertEquals(List.of(1L), ids(index.withinRadius(LAT, LNG, 5)));
+        assertEquals(List.of(1L, 2L), ids(index.withinRadius(LAT, LNG, 20)));
+        assertEquals(List.of(1L), ids(index.nearest(LAT, LNG, 1)));
+    }
+
+    @Test
+    void stationsChangedOnAnotherReplicaOverrideTheIndex() {
+        when(repository.findByIsApprovedTrue())
+                .thenReturn(List.of(station(1, 18.5384, 73.8567, true), station(2, 18.61, 73.8567, true)));
+        index.resync();
+
+        // station 1 was unapproved and station 3 approved next door, neither through this replica
+        when(repository.findByUpdatedAtGreaterThanEqual(any()))
+                .thenReturn(List.of(station(1, 18.5384, 73.8567, false), station(3, 18.5214, 73.8567, true)));
+
+        assertEquals(List.of(3L, 2L), ids(index.withinRadius(LAT, LNG, 20)));
+        assertEquals(List.of(3L), ids(index.nearest(LAT, LNG, 1)));
+    }
+
+    @Test
+    void resyncDropsStationsNoLongerApproved() {
+        when(repository.findByIsApprovedTrue())
+                .thenReturn(List.of(station(1, 18.5384, 73.8567, true), station(2, 18.61, 73.8567, true)));
+        when(repository.findByUpdatedAtGreaterThanEqual(any())).thenReturn(List.of());
+        index.resync();
+
+        when(repository.findByIsApprovedTrue()).thenReturn(List.of(station(2, 18.61, 73.8567, true)));
+        index.resync();
+
+        assertEquals(List.of(2L), ids(index.withinRadius(LAT, LNG, 20)));
+    }
+}
@@ -0,0 +1,95 @@
+package com.charginghive.station.service;
+
+import com.charginghive.station.model.Station;
+import com.charginghive.station.repository.StationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StationNameIndexTest {
+
+    private StationRepository repository;
+    private StationNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(StationRepository.class);
+        index = new StationNameIndex(repository, Duration.ofMinutes(1));
+    }
+
+    private static Station station(long id, String name) {
+        Station station = new Station();
+        station.setId(id);
+        station.setName(name);
+        return station;
+    }
+
+    @Test
+    void cannotServeBeforeLoadOrForShortQueries() {
+        assertFalse(index.canServe("volt"));
+
+        when(repository.findAll()).thenReturn(List.of(station(1, "Volt Hub")));
+        index.resync();
+
+        assertTrue(index.canServe("volt"));
+        assertFalse(index.canServe("vo"));
+        assertNotNull(index.changedSince());
+    }
+
+    @Test
+    void candidatesContainEveryStationWhoseNameContainsTheQuery() {
+        when(repository.findAll()).thenReturn(List.of(
+                station(1, "Volt Hub Baner"),
+                station(2, "SuperVOLT Kothrud"),
+                station(3, "Green Charge"),
+                station(4, "Hub of Volts")));
+        index.resync();
+
+        assertEquals(Set.of(1L, 2L, 4L), index.candidates("volt", null));
+        assertEquals(Set.of(1L), index.candidates("volt hub", null));
+        assertEquals(Set.of(), index.candidates("tesla", null));
+    }
+
+    @Test
+    void candidatesSkipIdsUpToAfterId() {
+        when(repository.findAll()).thenReturn(List.of(
+                station(1, "Volt One"), station(2, "Volt Two"), station(3, "Volt Three")));
+        index.resync();
+
+        assertEquals(Set.of(2L, 3L), index.candidates("volt", 1L));
+        assertEquals(Set.of(), index.candidates("volt", 3L));
+    }
+
+    @Test
+    void renameAndRemoveUpdateThePostings() {
+        when(repository.findAll()).thenReturn(List.of(station(1, "Volt Hub"), station(2, "Green Charge")));
+        index.resync();
+
+        index.update(station(1, "Spark Point"));
+        index.remove(2L);
+
+        assertEquals(Set.of(), index.candidates("volt", null));
+        assertEquals(Set.of(1L), index.candidates("spark", null));
+        assertEquals(Set.of(), index.candidates("green", null));
+    }
+
+    @Test
+    void resyncDropsStationsDeletedElsewhere() {
+        when(repository.findAll()).thenReturn(List.of(station(1, "Volt Hub"), station(2, "Volt Plaza")));
+        index.resync();
+        when(repository.findAll()).thenReturn(List.of(station(2, "Volt Plaza")));
+        index.resync();
+
+        assertEquals(Set.of(2L), index.candidates("volt", null));
+    }
+}